@@ -0,0 +1,189 @@
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import main.Main;
+
+/**
+ * One action bar service for all minigames<br>
+ * Set a text for a player with a priority and it stays visible until it is
+ * cleared or its duration is over<br>
+ * Only the text with the highest priority is shown, it is sent again if it
+ * changes or shortly before it fades out<br>
+ * One task runs while texts are set, so you don´t need an own repeating task
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class ActionBar {
+
+	/**
+	 * The priorities of action bar texts, the first one is the highest
+	 */
+	public enum Priority {
+		GAME, COOLDOWN, HINT
+	}
+
+	/**
+	 * The ticks after which a shown text is sent again, before the client fades
+	 * it out
+	 */
+	private static final int RESEND_TICKS = 40;
+
+	/**
+	 * A HashMap for storing the texts of all players, each player UUID leads to
+	 * the texts of the player
+	 */
+	private static HashMap<UUID, State> states = new HashMap<>();
+
+	private static BukkitTask task;
+	private static long tick = 0;
+
+	/**
+	 * Set a text for a player until it is cleared
+	 * 
+	 * @param player   The player
+	 * @param priority The priority of the text
+	 * @param text     The text
+	 */
+	public static void set(Player player, Priority priority, String text) {
+		set(player, priority, text, 0);
+	}
+
+	/**
+	 * Set a text for a player for a time<br>
+	 * An already set text with the same priority is replaced
+	 * 
+	 * @param player        The player
+	 * @param priority      The priority of the text
+	 * @param text          The text
+	 * @param durationTicks The ticks the text is shown <br>
+	 *                      If it´s 0 or less the text is shown until it is
+	 *                      cleared
+	 */
+	public static void set(Player player, Priority priority, String text, int durationTicks) {
+		State state = states.get(player.getUniqueId());
+		if (state == null) {
+			state = new State(player);
+			states.put(player.getUniqueId(), state);
+		}
+		state.texts[priority.ordinal()] = text;
+		state.ends[priority.ordinal()] = durationTicks > 0 ? tick + durationTicks : Long.MAX_VALUE;
+		if (task == null) {
+			task = Bukkit.getScheduler().runTaskTimer(Main.instance, ActionBar::tick, 1, 1);
+		}
+	}
+
+	/**
+	 * Clear the text with a priority of a player
+	 * 
+	 * @param player   The player
+	 * @param priority The priority of the text
+	 */
+	public static void clear(Player player, Priority priority) {
+		State state = states.get(player.getUniqueId());
+		if (state != null) {
+			state.texts[priority.ordinal()] = null;
+		}
+	}
+
+	/**
+	 * Clear all texts of a player, use it when the player quits<br>
+	 * If the player is still online the shown text is removed at once
+	 * 
+	 * @param player The player
+	 */
+	public static void clear(Player player) {
+		State state = states.remove(player.getUniqueId());
+		if (state != null && state.sent != null && player.isOnline()) {
+			Title.sendActionBar(player, "");
+		}
+	}
+
+	/**
+	 * Clear all texts of all players and stop the task
+	 */
+	public static void clearAll() {
+		states.clear();
+		if (task != null) {
+			task.cancel();
+			task = null;
+		}
+	}
+
+	// ------------
+	// Help methods
+	// ------------
+
+	/**
+	 * Send the highest text of each player, if it changed or is about to fade
+	 * out<br>
+	 * If no text is left an empty text is sent once, so the client doesn´t show
+	 * the old text until it fades out
+	 */
+	private static void tick() {
+		tick++;
+		Iterator<State> iterator = states.values().iterator();
+		while (iterator.hasNext()) {
+			State state = iterator.next();
+			String text = state.getText();
+			if (text == null || !state.player.isOnline()) {
+				if (state.sent != null && state.player.isOnline()) {
+					Title.sendActionBar(state.player, "");
+				}
+				iterator.remove();
+				continue;
+			}
+			if (!text.equals(state.sent) || tick - state.sentTick >= RESEND_TICKS) {
+				Title.sendActionBar(state.player, text);
+				state.sent = text;
+				state.sentTick = tick;
+			}
+		}
+		if (states.isEmpty()) {
+			task.cancel();
+			task = null;
+		}
+	}
+
+	/**
+	 * The texts of one player
+	 */
+	private static class State {
+
+		private final Player player;
+		private final String[] texts = new String[Priority.values().length];
+		private final long[] ends = new long[Priority.values().length];
+		private String sent;
+		private long sentTick;
+
+		private State(Player player) {
+			this.player = player;
+		}
+
+		/**
+		 * Get the shown text, texts above it whose duration is over are removed
+		 * 
+		 * @return The text with the highest priority <br>
+		 *         null, if no text is set
+		 */
+		private String getText() {
+			for (int i = 0; i < texts.length; i++) {
+				if (texts[i] != null && ends[i] <= tick) {
+					texts[i] = null;
+				}
+				if (texts[i] != null) {
+					return texts[i];
+				}
+			}
+			return null;
+		}
+
+	}
+
+}
@@ -0,0 +1,277 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.entity.Player;
+
+/**
+ * A group of players (an arena, a team, the spectators ...) which is kept up to
+ * date on join and leave<br>
+ * Title, Bossbar and Scoreboards accept an Audience directly, so you don´t have
+ * to build a player list for each message<br>
+ * The players are kept in an array, adding and removing a player costs the same
+ * for any size<br>
+ * Call Audience.quit(player) when a player leaves the server, it removes the
+ * player from all registered audiences<br>
+ * An Audience without a name is not tracked, remove quitting players from it
+ * yourself, it is freed as soon as you don´t use it anymore
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class Audience implements Iterable<Player> {
+
+	/**
+	 * A HashMap for storing all named audiences, each name leads to one audience
+	 */
+	private static HashMap<String, Audience> audiences = new HashMap<>();
+
+	/**
+	 * A HashMap for storing the registered audiences of each player, each player
+	 * UUID leads to the registered audiences the player is in<br>
+	 * Audiences without a name are not stored, so they are not kept in the memory
+	 * after they are dropped
+	 */
+	private static HashMap<UUID, Set<Audience>> memberships = new HashMap<>();
+
+	private final String name;
+	private Player[] players = new Player[8];
+	private int size = 0;
+
+	/**
+	 * A HashMap for storing the array index of each player
+	 */
+	private HashMap<UUID, Integer> indexes = new HashMap<>();
+
+	/**
+	 * Create a new Audience without a name, it is not registered<br>
+	 * Audience.quit() doesn´t remove players from it
+	 */
+	public Audience() {
+		this(null);
+	}
+
+	private Audience(String name) {
+		this.name = name;
+	}
+
+	// ---------
+	// Audiences
+	// ---------
+
+	/**
+	 * Create a new Audience and register it with a name<br>
+	 * An already registered Audience with the same name is replaced
+	 * 
+	 * @param name The name of the Audience
+	 * @return The new Audience
+	 */
+	public static Audience create(String name) {
+		delete(name);
+		Audience audience = new Audience(name);
+		audiences.put(name, audience);
+		return audience;
+	}
+
+	/**
+	 * Get a registered Audience
+	 * 
+	 * @param name The name of the Audience
+	 * @return The Audience, if an Audience is registered with the name <br>
+	 *         null, if no Audience is registered with the name
+	 */
+	public static Audience get(String name) {
+		return audiences.get(name);
+	}
+
+	/**
+	 * Remove all players from an array of registered audiences and delete them
+	 * 
+	 * @param names The names of the audiences
+	 */
+	public static void delete(String... names) {
+		for (String name : names) {
+			Audience audience = audiences.remove(name);
+			if (audience != null) {
+				audience.clear();
+			}
+		}
+	}
+
+	/**
+	 * Remove a player from all audiences<br>
+	 * Use it when the player quits
+	 * 
+	 * @param player The player
+	 */
+	public static void quit(Player player) {
+		Set<Audience> joined = memberships.remove(player.getUniqueId());
+		if (joined != null) {
+			for (Audience audience : joined) {
+				audience.removeIndex(player.getUniqueId());
+			}
+		}
+	}
+
+	// -------
+	// Players
+	// -------
+
+	/**
+	 * Add a player to the Audience
+	 * 
+	 * @param player The player
+	 * @return true, if the player was not in the Audience before
+	 */
+	public boolean add(Player player) {
+		UUID uuid = player.getUniqueId();
+		if (indexes.containsKey(uuid)) {
+			return false;
+		}
+		if (size == players.length) {
+			players = Arrays.copyOf(players, size * 2);
+		}
+		indexes.put(uuid, size);
+		players[size++] = player;
+		if (name != null) {
+			memberships.computeIfAbsent(uuid, key -> new HashSet<>()).add(this);
+		}
+		return true;
+	}
+
+	/**
+	 * Add an array of players to the Audience
+	 * 
+	 * @param players The players
+	 */
+	public void add(Player... players) {
+		for (Player player : players) {
+			add(player);
+		}
+	}
+
+	/**
+	 * Remove a player from the Audience
+	 * 
+	 * @param player The player
+	 * @return true, if the player was in the Audience
+	 */
+	public boolean remove(Player player) {
+		if (!removeIndex(player.getUniqueId())) {
+			return false;
+		}
+		if (name == null) {
+			return true;
+		}
+		Set<Audience> joined = memberships.get(player.getUniqueId());
+		if (joined != null) {
+			joined.remove(this);
+			if (joined.isEmpty()) {
+				memberships.remove(player.getUniqueId());
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Remove all players from the Audience
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			Set<Audience> joined = name == null ? null : memberships.get(players[i].getUniqueId());
+			if (joined != null) {
+				joined.remove(this);
+				if (joined.isEmpty()) {
+					memberships.remove(players[i].getUniqueId());
+				}
+			}
+			players[i] = null;
+		}
+		size = 0;
+		indexes.clear();
+	}
+
+	/**
+	 * Check if a player is in the Audience
+	 * 
+	 * @param player The player
+	 * @return true, if the player is in the Audience
+	 */
+	public boolean contains(Player player) {
+		return indexes.containsKey(player.getUniqueId());
+	}
+
+	/**
+	 * Get a player by its index, use it with size() to loop over the players
+	 * without an iterator
+	 * 
+	 * @param index The index, 0 to size() - 1
+	 * @return The player
+	 */
+	public Player get(int index) {
+		return players[index];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return The name of the Audience, null if it is not registered
+	 */
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public Iterator<Player> iterator() {
+		return new Iterator<Player>() {
+
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public Player next() {
+				if (index >= size) {
+					throw new NoSuchElementException();
+				}
+				return players[index++];
+			}
+
+		};
+	}
+
+	/**
+	 * Remove a player from the array, the last player takes its place
+	 * 
+	 * @param uuid The UUID of the player
+	 * @return true, if the player was in the array
+	 */
+	private boolean removeIndex(UUID uuid) {
+		Integer index = indexes.remove(uuid);
+		if (index == null) {
+			return false;
+		}
+		size--;
+		if (index != size) {
+			players[index] = players[size];
+			indexes.put(players[index].getUniqueId(), index);
+		}
+		players[size] = null;
+		return true;
+	}
+
+}
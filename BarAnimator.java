@@ -0,0 +1,242 @@
+import java.util.HashMap;
+import java.util.Iterator;
+
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BossBar;
+import org.bukkit.scheduler.BukkitTask;
+
+import main.Main;
+
+/**
+ * Smooth progress animations for all BossBars<br>
+ * Give a bar a target progress and a duration, one task moves all animating
+ * bars every tick<br>
+ * A bar is 182 pixels wide, so a step smaller than one pixel can´t be seen and
+ * is not sent, the last value of an animation is always sent
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class BarAnimator {
+
+	/**
+	 * The smallest progress change which can be seen on a BossBar
+	 */
+	private static final double MIN_DELTA = 1.0 / 182;
+
+	/**
+	 * The curves of an animation
+	 */
+	public enum Easing {
+		LINEAR, EASE_IN, EASE_OUT, EASE_IN_OUT;
+
+		/**
+		 * @param t The time of the animation, 0-1 (0 and 1 included)
+		 * @return The progress of the animation, 0-1 (0 and 1 included)
+		 */
+		public double apply(double t) {
+			switch (this) {
+			case EASE_IN:
+				return t * t;
+			case EASE_OUT:
+				return t * (2 - t);
+			case EASE_IN_OUT:
+				return t < 0.5 ? 2 * t * t : -1 + (4 - 2 * t) * t;
+			default:
+				return t;
+			}
+		}
+	}
+
+	/**
+	 * A HashMap for storing all running animations, each Bossbar leads to its
+	 * animation
+	 */
+	private static HashMap<Bossbar, Animation> animations = new HashMap<>();
+
+	private static BukkitTask task;
+	private static long sentUpdates = 0;
+	private static long suppressedUpdates = 0;
+
+	private BarAnimator() {
+
+	}
+
+	/**
+	 * Move the progress of a BossBar to a target in a time<br>
+	 * A running animation of the bar is replaced and starts from the current
+	 * progress
+	 * 
+	 * @param bossbar The Bossbar
+	 * @param percent The target progress in percent, 0-100 (0 and 100 included)
+	 * @param ticks   The duration in ticks <br>
+	 *                If it´s 0 or less the progress is set at once
+	 * @param easing  The curve of the animation
+	 */
+	public static void animate(Bossbar bossbar, double percent, int ticks, Easing easing) {
+		BossBar bar = bossbar.getBossBar();
+		double target = percent < 0 ? 0 : percent > 100 ? 1 : percent / 100;
+		if (ticks <= 0) {
+			animations.remove(bossbar);
+			send(bar, target);
+			return;
+		}
+		animations.put(bossbar, new Animation(bar, target, ticks, easing));
+		if (task == null) {
+			task = Bukkit.getScheduler().runTaskTimer(Main.instance, BarAnimator::tick, 1, 1);
+		}
+	}
+
+	/**
+	 * Move the progress of a BossBar to a target in a time with a linear curve
+	 * 
+	 * @param bossbar The Bossbar
+	 * @param percent The target progress in percent, 0-100 (0 and 100 included)
+	 * @param ticks   The duration in ticks
+	 */
+	public static void animate(Bossbar bossbar, double percent, int ticks) {
+		animate(bossbar, percent, ticks, Easing.LINEAR);
+	}
+
+	/**
+	 * Move the progress of the BossBar attached to an id to a target in a time
+	 * 
+	 * @param id      The id of the BossBar
+	 * @param percent The target progress in percent, 0-100 (0 and 100 included)
+	 * @param ticks   The duration in ticks
+	 * @param easing  The curve of the animation
+	 */
+	public static void animate(String id, double percent, int ticks, Easing easing) {
+		Bossbar bossbar = Bossbar.get(id);
+		if (bossbar != null) {
+			animate(bossbar, percent, ticks, easing);
+		}
+	}
+
+	/**
+	 * Stop the animation of a BossBar, the bar keeps its current progress
+	 * 
+	 * @param bossbar The Bossbar
+	 * @return true, if the bar was animating
+	 */
+	public static boolean stop(Bossbar bossbar) {
+		return animations.remove(bossbar) != null;
+	}
+
+	/**
+	 * Stop all animations<br>
+	 * Use it in the onDisable() method
+	 */
+	public static void stopAll() {
+		animations.clear();
+		stopTask();
+	}
+
+	public static boolean isAnimating(Bossbar bossbar) {
+		return animations.containsKey(bossbar);
+	}
+
+	// --------
+	// Counters
+	// --------
+
+	/**
+	 * @return The number of progress updates sent to the BossBars
+	 */
+	public static long getSentUpdates() {
+		return sentUpdates;
+	}
+
+	/**
+	 * @return The number of progress updates not sent, because the change could
+	 *         not be seen
+	 */
+	public static long getSuppressedUpdates() {
+		return suppressedUpdates;
+	}
+
+	public static void resetCounters() {
+		sentUpdates = 0;
+		suppressedUpdates = 0;
+	}
+
+	// ------------
+	// Help methods
+	// ------------
+
+	/**
+	 * Move all animations one tick and send the visible changes
+	 */
+	private static void tick() {
+		Iterator<Animation> iterator = animations.values().iterator();
+		while (iterator.hasNext()) {
+			Animation animation = iterator.next();
+			animation.tick++;
+			if (animation.tick >= animation.ticks) {
+				send(animation.bar, animation.target);
+				iterator.remove();
+				continue;
+			}
+			double t = animation.easing.apply((double) animation.tick / animation.ticks);
+			double value = animation.start + (animation.target - animation.start) * t;
+			if (Math.abs(value - animation.sent) < MIN_DELTA) {
+				suppressedUpdates++;
+				continue;
+			}
+			animation.sent = value;
+			send(animation.bar, value);
+		}
+		if (animations.isEmpty()) {
+			stopTask();
+		}
+	}
+
+	/**
+	 * Set the progress of a BossBar, if it is different
+	 * 
+	 * @param bar      The BossBar
+	 * @param progress The progress, 0-1 (0 and 1 included)
+	 */
+	private static void send(BossBar bar, double progress) {
+		progress = progress < 0 ? 0 : progress > 1 ? 1 : progress;
+		if (bar.getProgress() == progress) {
+			suppressedUpdates++;
+			return;
+		}
+		bar.setProgress(progress);
+		sentUpdates++;
+	}
+
+	private static void stopTask() {
+		if (task != null) {
+			task.cancel();
+			task = null;
+		}
+	}
+
+	/**
+	 * One running animation of a BossBar
+	 */
+	private static class Animation {
+
+		private final BossBar bar;
+		private final double start;
+		private final double target;
+		private final int ticks;
+		private final Easing easing;
+		private double sent;
+		private int tick = 0;
+
+		private Animation(BossBar bar, double target, int ticks, Easing easing) {
+			this.bar = bar;
+			this.start = bar.getProgress();
+			this.sent = start;
+			this.target = target;
+			this.ticks = ticks;
+			this.easing = easing;
+		}
+
+	}
+
+}
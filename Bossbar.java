@@ -1,7 +1,13 @@
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
@@ -18,7 +24,9 @@ import main.Main;
  * your bar needs <br>
  * Add players to bars and remove players from bars, so a player can see a bar
  * or not <br>
- * Change attributes of a bar with the setter methods (use the right id)
+ * Change attributes of a bar with the setter methods (use the right id)<br>
+ * The create methods return the Bossbar, keep it to change the bar without
+ * looking up the id each time
  * 
  * @author CodeSAT
  * @version 1.02
@@ -27,10 +35,34 @@ import main.Main;
 public class Bossbar {
 
 	/**
-	 * A HashMap for storing all BossBars with names, each name for one
-	 * NamespacedKeys, each key leads to a BossBar
+	 * A ConcurrentHashMap for storing all BossBars with names, each name leads to
+	 * one Bossbar with its NamespacedKey and its BossBar<br>
+	 * Other threads can look up ids, but change bars with Updates
 	 */
-	private static HashMap<String, NamespacedKey> ids = new HashMap<>();
+	private static ConcurrentHashMap<String, Bossbar> ids = new ConcurrentHashMap<>();
+
+	private static LongAdder misses = new LongAdder();
+
+	/**
+	 * The released BossBars which wait to be used again
+	 */
+	private static ArrayDeque<Bossbar> pool = new ArrayDeque<>();
+	private static int poolCap = 64;
+	private static int pooledKeys = 0;
+	private static long poolHits = 0;
+	private static long poolMisses = 0;
+
+	private String id;
+	private final NamespacedKey key;
+	private final BossBar bar;
+	private final boolean pooled;
+
+	private Bossbar(String id, NamespacedKey key, BossBar bar, boolean pooled) {
+		this.id = id;
+		this.key = key;
+		this.bar = bar;
+		this.pooled = pooled;
+	}
 
 	// -----------
 	// Create Bars
@@ -48,14 +80,17 @@ public class Bossbar {
 	 *                If it´s less than 0 the progress set to 0<br>
 	 *                If it´s more than 100 the progress set to 100
 	 * @param flags   The array of flags added to the BossBar
+	 * @return The new Bossbar <br>
+	 *         An already existing BossBar with the same id is deleted
 	 */
-	public static void createBar(String id, String title, BarColor color, BarStyle style, double percent,
+	public static Bossbar createBar(String id, String title, BarColor color, BarStyle style, double percent,
 			BarFlag... flags) {
+		deleteBars(id);
 		NamespacedKey key = createKey(id);
-
-		ids.put(id, key);
-		Bukkit.createBossBar(key, title, color, style, flags);
-		setProgress(id, percent);
+		Bossbar bossbar = new Bossbar(id, key, Bukkit.createBossBar(key, title, color, style, flags), false);
+		ids.put(id, bossbar);
+		bossbar.setProgress(percent);
+		return bossbar;
 	}
 
 	/**
@@ -72,9 +107,10 @@ public class Bossbar {
 	 *                If it´s less than 0 the progress set to 0<br>
 	 *                If it´s more than 100 the progress set to 100
 	 * @param flags   The array of flags added to the BossBar
+	 * @return The new Bossbar
 	 */
-	public static void createBar(String title, BarColor color, BarStyle style, double percent, BarFlag... flags) {
-		createBar(title, title, color, style, percent, flags);
+	public static Bossbar createBar(String title, BarColor color, BarStyle style, double percent, BarFlag... flags) {
+		return createBar(title, title, color, style, percent, flags);
 	}
 
 	/**
@@ -90,9 +126,10 @@ public class Bossbar {
 	 *                included) <br>
 	 *                If it´s less than 0 the progress set to 0<br>
 	 *                If it´s more than 100 the progress set to 100
+	 * @return The new Bossbar
 	 */
-	public static void createBar(String title, BarColor color, BarStyle style, double percent) {
-		createBar(title, color, style, percent, BarFlag.PLAY_BOSS_MUSIC);
+	public static Bossbar createBar(String title, BarColor color, BarStyle style, double percent) {
+		return createBar(title, color, style, percent, BarFlag.PLAY_BOSS_MUSIC);
 	}
 
 	// -----------
@@ -116,12 +153,9 @@ public class Bossbar {
 	 * @param players The players who will see the BossBar after this method
 	 */
 	public static void addPlayers(String id, Player... players) {
-		BossBar bar = getBar(id);
-		if (bar == null) {
-			return;
-		}
-		for (Player player : players) {
-			bar.addPlayer(player);
+		Bossbar bossbar = get(id);
+		if (bossbar != null) {
+			bossbar.addPlayers(players);
 		}
 	}
 
@@ -149,6 +183,48 @@ public class Bossbar {
 		}
 	}
 
+	/**
+	 * Add an array of BossBars to all players of an Audience
+	 * 
+	 * @param audience The Audience
+	 * @param ids      The added array of BossBar id´s
+	 */
+	public static void addPlayers(Audience audience, String... ids) {
+		for (String id : ids) {
+			Bossbar bossbar = get(id);
+			if (bossbar != null) {
+				bossbar.addPlayers(audience);
+			}
+		}
+	}
+
+	/**
+	 * Let exactly the players of an Audience see a BossBar<br>
+	 * Only the players who are new or missing are added or removed, so a team
+	 * with a few changed players costs a few updates
+	 * 
+	 * @param id       The id of the BossBar
+	 * @param audience The Audience
+	 * @return The number of added and removed players
+	 */
+	public static int setViewers(String id, Audience audience) {
+		Bossbar bossbar = get(id);
+		return bossbar == null ? 0 : bossbar.setViewers(audience);
+	}
+
+	/**
+	 * Let exactly the players of a collection see a BossBar<br>
+	 * Only the players who are new or missing are added or removed
+	 * 
+	 * @param id      The id of the BossBar
+	 * @param players The players
+	 * @return The number of added and removed players
+	 */
+	public static int setViewers(String id, Collection<? extends Player> players) {
+		Bossbar bossbar = get(id);
+		return bossbar == null ? 0 : bossbar.setViewers(players);
+	}
+
 	/**
 	 * Add an array of BossBars to all online Players
 	 * 
@@ -180,12 +256,9 @@ public class Bossbar {
 	 * @param players The players who won´t see the BossBar after this method
 	 */
 	public static void removePlayers(String id, Player... players) {
-		BossBar bar = getBar(id);
-		if (bar == null) {
-			return;
-		}
-		for (Player player : players) {
-			bar.removePlayer(player);
+		Bossbar bossbar = get(id);
+		if (bossbar != null) {
+			bossbar.removePlayers(players);
 		}
 	}
 
@@ -213,6 +286,21 @@ public class Bossbar {
 		}
 	}
 
+	/**
+	 * Remove an array of BossBars from all players of an Audience
+	 * 
+	 * @param audience The Audience
+	 * @param ids      The removed array of BossBar id´s
+	 */
+	public static void removePlayers(Audience audience, String... ids) {
+		for (String id : ids) {
+			Bossbar bossbar = get(id);
+			if (bossbar != null) {
+				bossbar.removePlayers(audience);
+			}
+		}
+	}
+
 	/**
 	 * Remove an array of BossBars from all online Players
 	 * 
@@ -227,6 +315,25 @@ public class Bossbar {
 	// HashMap
 	// -------
 
+	/**
+	 * Get the Bossbar attached to an id<br>
+	 * A missing id is counted and logged, see getMisses()
+	 * 
+	 * @param id The id of the Bossbar that you want
+	 * @return The Bossbar, if a BossBar is attached to the id <br>
+	 *         null, if no BossBar is attached to the id
+	 */
+	public static Bossbar get(String id) {
+		Bossbar bossbar = ids.get(id);
+		if (bossbar == null) {
+			misses.increment();
+			if (Main.instance.getLogger().isLoggable(Level.FINE)) {
+				Main.instance.getLogger().log(Level.FINE, "No BossBar with id=" + id + " found");
+			}
+		}
+		return bossbar;
+	}
+
 	/**
 	 * Get a BossBar attached to an id
 	 * 
@@ -235,11 +342,15 @@ public class Bossbar {
 	 *         null, if no BossBar is attached to the id
 	 */
 	public static BossBar getBar(String id) {
-		if (ids != null && ids.containsKey(id)) {
-			return Bukkit.getBossBar(ids.get(id));
-		}
-		Bukkit.broadcastMessage("§4No BossBar with id=§6" + id + "§4 found");
-		return null;
+		Bossbar bossbar = get(id);
+		return bossbar == null ? null : bossbar.bar;
+	}
+
+	/**
+	 * @return The number of ids which had no BossBar attached
+	 */
+	public static long getMisses() {
+		return misses.sum();
 	}
 
 	/**
@@ -248,11 +359,10 @@ public class Bossbar {
 	 * @param ids The array of BossBar id´s
 	 */
 	public static void deleteBars(String... ids) {
-		removeAllPlayers(ids);
 		for (String id : ids) {
-			if (Bossbar.ids.containsKey(id)) {
-				Bukkit.removeBossBar(Bossbar.ids.get(id));
-				Bossbar.ids.remove(id);
+			Bossbar bossbar = Bossbar.ids.get(id);
+			if (bossbar != null) {
+				bossbar.delete();
 			}
 		}
 	}
@@ -262,8 +372,104 @@ public class Bossbar {
 	 * If you use BossBars it´s good to put this method in the onDisable() method
 	 */
 	public static void clearBars() {
-		Set<String> ids = new HashSet<>(Bossbar.ids.keySet());
-		ids.forEach(s -> deleteBars(s));
+		for (Bossbar bossbar : new ArrayList<>(ids.values())) {
+			bossbar.delete();
+		}
+		for (Bossbar bossbar : pool) {
+			Bukkit.removeBossBar(bossbar.key);
+		}
+		pool.clear();
+	}
+
+	// ---------
+	// Bar pool
+	// ---------
+
+	/**
+	 * Create BossBars for the pool, so the first rounds don´t have to create
+	 * them<br>
+	 * Use it in the onEnable() method
+	 * 
+	 * @param count The number of BossBars the pool should have, the pool cap is
+	 *              the maximum
+	 */
+	public static void prewarmBars(int count) {
+		while (pool.size() < count && pool.size() < poolCap) {
+			pool.push(createPooled());
+		}
+	}
+
+	/**
+	 * Take a BossBar from the pool and give it attributes<br>
+	 * If the pool is empty a new BossBar is created<br>
+	 * Give it back with releaseBars(id) or release() instead of deleting it
+	 * 
+	 * @param id      The BossBars id
+	 * @param title   The title which stand above the BossBar
+	 * @param color   The color of the BossBar
+	 * @param style   The style of the BossBar
+	 * @param percent The fill-progress of the BossBar in percent, 0-100 (0 and 100
+	 *                included)
+	 * @param flags   The array of flags added to the BossBar
+	 * @return The Bossbar <br>
+	 *         An already existing BossBar with the same id is released
+	 */
+	public static Bossbar acquireBar(String id, String title, BarColor color, BarStyle style, double percent,
+			BarFlag... flags) {
+		releaseBars(id);
+		Bossbar bossbar = pool.poll();
+		if (bossbar != null) {
+			poolHits++;
+		} else {
+			poolMisses++;
+			bossbar = createPooled();
+		}
+		bossbar.id = id;
+		bossbar.bar.setTitle(title);
+		bossbar.bar.setColor(color);
+		bossbar.bar.setStyle(style);
+		bossbar.addFlags(flags);
+		bossbar.setProgress(percent);
+		ids.put(id, bossbar);
+		return bossbar;
+	}
+
+	/**
+	 * Give an array of BossBars back to the pool<br>
+	 * BossBars which were not taken from the pool are deleted
+	 * 
+	 * @param ids The array of BossBar id´s
+	 */
+	public static void releaseBars(String... ids) {
+		for (String id : ids) {
+			Bossbar bossbar = Bossbar.ids.get(id);
+			if (bossbar != null) {
+				bossbar.release();
+			}
+		}
+	}
+
+	/**
+	 * @param cap The maximum number of BossBars in the pool, released BossBars over
+	 *            it are deleted
+	 */
+	public static void setPoolCap(int cap) {
+		poolCap = cap < 0 ? 0 : cap;
+		while (pool.size() > poolCap) {
+			Bukkit.removeBossBar(pool.pop().key);
+		}
+	}
+
+	public static int getPooledBars() {
+		return pool.size();
+	}
+
+	public static long getPoolHits() {
+		return poolHits;
+	}
+
+	public static long getPoolMisses() {
+		return poolMisses;
 	}
 
 	// -------
@@ -277,9 +483,9 @@ public class Bossbar {
 	 * @param title The new title
 	 */
 	public static void setTitle(String id, String title) {
-		BossBar bar = getBar(id);
-		if (bar != null) {
-			bar.setTitle(title);
+		Bossbar bossbar = get(id);
+		if (bossbar != null) {
+			bossbar.setTitle(title);
 		}
 	}
 
@@ -290,9 +496,9 @@ public class Bossbar {
 	 * @param color The new color
 	 */
 	public static void setColor(String id, BarColor color) {
-		BossBar bar = getBar(id);
-		if (bar != null) {
-			bar.setColor(color);
+		Bossbar bossbar = get(id);
+		if (bossbar != null) {
+			bossbar.setColor(color);
 		}
 	}
 
@@ -303,9 +509,9 @@ public class Bossbar {
 	 * @param style The new style
 	 */
 	public static void setStyle(String id, BarStyle style) {
-		BossBar bar = getBar(id);
-		if (bar != null) {
-			bar.setStyle(style);
+		Bossbar bossbar = get(id);
+		if (bossbar != null) {
+			bossbar.setStyle(style);
 		}
 	}
 
@@ -320,9 +526,9 @@ public class Bossbar {
 	 *                 If it´s more than 100 the progress set to 100
 	 */
 	public static void setProgress(String id, double percent) {
-		BossBar bar = getBar(id);
-		if (bar != null) {
-			bar.setProgress(createProgress(percent));
+		Bossbar bossbar = get(id);
+		if (bossbar != null) {
+			bossbar.setProgress(percent);
 		}
 	}
 
@@ -333,12 +539,9 @@ public class Bossbar {
 	 * @param flags The flags added to the BossBar
 	 */
 	public static void addFlags(String id, BarFlag... flags) {
-		BossBar bar = getBar(id);
-		if (bar == null) {
-			return;
-		}
-		for (BarFlag flag : flags) {
-			bar.addFlag(flag);
+		Bossbar bossbar = get(id);
+		if (bossbar != null) {
+			bossbar.addFlags(flags);
 		}
 	}
 
@@ -349,15 +552,199 @@ public class Bossbar {
 	 * @param flags The flags removed from the BossBar
 	 */
 	public static void removeFlags(String id, BarFlag... flags) {
-		BossBar bar = getBar(id);
-		if (bar == null) {
-			return;
+		Bossbar bossbar = get(id);
+		if (bossbar != null) {
+			bossbar.removeFlags(flags);
+		}
+	}
+
+	// ----------------
+	// Bossbar handles
+	// ----------------
+
+	/**
+	 * Add an array of players to the BossBar
+	 * 
+	 * @param players The players who will see the BossBar after this method
+	 */
+	public void addPlayers(Player... players) {
+		for (Player player : players) {
+			bar.addPlayer(player);
+		}
+	}
+
+	/**
+	 * Add all players of an Audience to the BossBar
+	 * 
+	 * @param audience The Audience
+	 */
+	public void addPlayers(Audience audience) {
+		for (int i = 0; i < audience.size(); i++) {
+			bar.addPlayer(audience.get(i));
+		}
+	}
+
+	/**
+	 * Let exactly the players of an Audience see the BossBar<br>
+	 * Only the players who are new or missing are added or removed, so a team
+	 * with a few changed players costs a few updates
+	 * 
+	 * @param audience The Audience
+	 * @return The number of added and removed players
+	 */
+	public int setViewers(Audience audience) {
+		return setViewers(audience, audience.size());
+	}
+
+	/**
+	 * Let exactly the players of a collection see the BossBar<br>
+	 * Only the players who are new or missing are added or removed
+	 * 
+	 * @param players The players
+	 * @return The number of added and removed players
+	 */
+	public int setViewers(Collection<? extends Player> players) {
+		return setViewers(players, players.size());
+	}
+
+	/**
+	 * Remove an array of players from the BossBar
+	 * 
+	 * @param players The players who won´t see the BossBar after this method
+	 */
+	public void removePlayers(Player... players) {
+		for (Player player : players) {
+			bar.removePlayer(player);
+		}
+	}
+
+	/**
+	 * Remove all players of an Audience from the BossBar
+	 * 
+	 * @param audience The Audience
+	 */
+	public void removePlayers(Audience audience) {
+		for (int i = 0; i < audience.size(); i++) {
+			bar.removePlayer(audience.get(i));
+		}
+	}
+
+	/**
+	 * Set the title of the BossBar
+	 * 
+	 * @param title The new title
+	 */
+	public void setTitle(String title) {
+		bar.setTitle(title);
+	}
+
+	/**
+	 * Set the color of the BossBar
+	 * 
+	 * @param color The new color
+	 */
+	public void setColor(BarColor color) {
+		bar.setColor(color);
+	}
+
+	/**
+	 * Set the style of the BossBar
+	 * 
+	 * @param style The new style
+	 */
+	public void setStyle(BarStyle style) {
+		bar.setStyle(style);
+	}
+
+	/**
+	 * Set the progress of the BossBar in percent (0-100)
+	 * 
+	 * @param percent The fill-progress of the BossBar in percent, 0-100 (0 and 100
+	 *                included) <br>
+	 *                If it´s less than 0 the progress set to 0<br>
+	 *                If it´s more than 100 the progress set to 100
+	 */
+	public void setProgress(double percent) {
+		bar.setProgress(createProgress(percent));
+	}
+
+	/**
+	 * Add an array of flags to the BossBar
+	 * 
+	 * @param flags The flags added to the BossBar
+	 */
+	public void addFlags(BarFlag... flags) {
+		for (BarFlag flag : flags) {
+			bar.addFlag(flag);
 		}
+	}
+
+	/**
+	 * Remove an array of flags from the BossBar
+	 * 
+	 * @param flags The flags removed from the BossBar
+	 */
+	public void removeFlags(BarFlag... flags) {
 		for (BarFlag flag : flags) {
 			bar.removeFlag(flag);
 		}
 	}
 
+	/**
+	 * Remove all players from the BossBar, reset it and give it back to the
+	 * pool<br>
+	 * A BossBar which was not taken from the pool is deleted
+	 */
+	public void release() {
+		if (!pooled) {
+			delete();
+			return;
+		}
+		if (!ids.remove(id, this)) {
+			return;
+		}
+		BarAnimator.stop(this);
+		bar.removeAll();
+		if (pool.size() >= poolCap) {
+			Bukkit.removeBossBar(key);
+			return;
+		}
+		bar.setTitle("");
+		bar.setColor(BarColor.PINK);
+		bar.setStyle(BarStyle.SOLID);
+		for (BarFlag flag : BarFlag.values()) {
+			bar.removeFlag(flag);
+		}
+		bar.setProgress(1);
+		bar.setVisible(true);
+		pool.push(this);
+	}
+
+	/**
+	 * Remove all players from the BossBar and delete it
+	 */
+	public void delete() {
+		BarAnimator.stop(this);
+		bar.removeAll();
+		Bukkit.removeBossBar(key);
+		ids.remove(id, this);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public NamespacedKey getKey() {
+		return key;
+	}
+
+	/**
+	 * @return The BossBar of Bukkit
+	 */
+	public BossBar getBossBar() {
+		return bar;
+	}
+
 	// ------------
 	// Help methods
 	// ------------
@@ -390,13 +777,59 @@ public class Bossbar {
 	 * @return A valid id for a NamespacedKey
 	 */
 	private static String getValidId(String id) {
-		String validId = "";
-		for (char c : id.toCharArray()) {
+		StringBuilder validId = new StringBuilder(id.length());
+		for (int i = 0; i < id.length(); i++) {
+			char c = id.charAt(i);
 			if ((c > 47 && c < 58) || (c > 64 && c < 91) || (c > 96 && c < 123)) {
-				validId += c;
+				validId.append(c);
+			}
+		}
+		return validId.toString();
+	}
+
+	/**
+	 * Compare the viewers of the BossBar with the new players and only add the
+	 * new and remove the missing ones
+	 * 
+	 * @param players The new viewers
+	 * @param size    The number of new viewers
+	 * @return The number of added and removed players
+	 */
+	private int setViewers(Iterable<? extends Player> players, int size) {
+		Set<UUID> wanted = new HashSet<>(size * 2);
+		for (Player player : players) {
+			wanted.add(player.getUniqueId());
+		}
+		List<Player> current = bar.getPlayers();
+		Set<UUID> shown = new HashSet<>(current.size() * 2);
+		int changes = 0;
+		for (Player player : current) {
+			if (wanted.contains(player.getUniqueId())) {
+				shown.add(player.getUniqueId());
+			} else {
+				bar.removePlayer(player);
+				changes++;
+			}
+		}
+		for (Player player : players) {
+			if (shown.add(player.getUniqueId())) {
+				bar.addPlayer(player);
+				changes++;
 			}
 		}
-		return validId;
+		return changes;
+	}
+
+	/**
+	 * Create a new empty BossBar for the pool<br>
+	 * Its key has a "_", which getValidId() removes, so it never clashes with the
+	 * key of an id
+	 * 
+	 * @return The new Bossbar
+	 */
+	private static Bossbar createPooled() {
+		NamespacedKey key = new NamespacedKey(Main.instance, "pool_" + pooledKeys++);
+		return new Bossbar(null, key, Bukkit.createBossBar(key, "", BarColor.PINK, BarStyle.SOLID), true);
 	}
 
 }
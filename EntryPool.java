@@ -0,0 +1,107 @@
+import java.util.BitSet;
+
+/**
+ * A pool of short unique invisible scoreboard entries for team lines<br>
+ * The entries are color codes ("§a" or "§a§b"), so they are never shown on the
+ * sidebar<br>
+ * Each board needs its own pool, allocate an entry for a new line and free it
+ * when the line is removed, so rebuilt boards reuse their entries
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class EntryPool {
+
+	private static final String CODES = "0123456789abcdef";
+
+	/**
+	 * All entries, first the 16 single color codes and then the 256 pairs
+	 */
+	private static final String[] ENTRIES = new String[16 + 16 * 16];
+
+	static {
+		for (int i = 0; i < 16; i++) {
+			ENTRIES[i] = "§" + CODES.charAt(i);
+			for (int j = 0; j < 16; j++) {
+				ENTRIES[16 + i * 16 + j] = "§" + CODES.charAt(i) + "§" + CODES.charAt(j);
+			}
+		}
+	}
+
+	public static final int SIZE = ENTRIES.length;
+
+	private BitSet used = new BitSet(SIZE);
+
+	/**
+	 * Get a free entry of the pool
+	 * 
+	 * @return The entry <br>
+	 *         null, if all entries are used
+	 */
+	public String allocate() {
+		int index = used.nextClearBit(0);
+		if (index >= SIZE) {
+			return null;
+		}
+		used.set(index);
+		return ENTRIES[index];
+	}
+
+	/**
+	 * Give an entry back to the pool
+	 * 
+	 * @param entry The entry from allocate()
+	 */
+	public void free(String entry) {
+		int index = indexOf(entry);
+		if (index != -1) {
+			used.clear(index);
+		}
+	}
+
+	/**
+	 * Give all entries back to the pool
+	 */
+	public void clear() {
+		used.clear();
+	}
+
+	/**
+	 * @return The number of used entries
+	 */
+	public int getUsed() {
+		return used.cardinality();
+	}
+
+	/**
+	 * Get an entry by its index without allocating it, for boards with fixed
+	 * lines
+	 * 
+	 * @param index The index, 0 to SIZE - 1
+	 * @return The entry
+	 */
+	public static String getEntry(int index) {
+		return ENTRIES[index];
+	}
+
+	/**
+	 * Get the index of an entry
+	 * 
+	 * @param entry The entry
+	 * @return The index of the entry <br>
+	 *         -1, if it is no entry of the pool
+	 */
+	private static int indexOf(String entry) {
+		if (entry.length() == 2 && entry.charAt(0) == '§') {
+			return CODES.indexOf(entry.charAt(1));
+		}
+		if (entry.length() == 4 && entry.charAt(0) == '§' && entry.charAt(2) == '§') {
+			int first = CODES.indexOf(entry.charAt(1));
+			int second = CODES.indexOf(entry.charAt(3));
+			return first == -1 || second == -1 ? -1 : 16 + first * 16 + second;
+		}
+		return -1;
+	}
+
+}
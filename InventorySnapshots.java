@@ -0,0 +1,413 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import main.Main;
+
+/**
+ * Save the inventory of a player (for example when he joins an arena) and set
+ * it back later (when he leaves the arena)<br>
+ * A snapshot only stores one number per slot, the items are kept once in a pool
+ * and shared by all snapshots with the same items<br>
+ * If more snapshots than the spill threshold are saved, the oldest snapshots
+ * are written to the disk async and removed from the memory<br>
+ * On the disk only the filled slots are stored, compressed
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class InventorySnapshots {
+
+	private static final int EMPTY = -1;
+
+	/**
+	 * A LinkedHashMap for storing all snapshots, each player UUID leads to one
+	 * snapshot, the oldest snapshot is the first one
+	 */
+	private static LinkedHashMap<UUID, Snapshot> snapshots = new LinkedHashMap<>();
+
+	/**
+	 * The pool of all saved items, each item leads to its pool id
+	 */
+	private static HashMap<ItemStack, Integer> stackIds = new HashMap<>();
+	private static ArrayList<ItemStack> stacks = new ArrayList<>();
+	private static int[] references = new int[64];
+	private static ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+
+	private static int spillThreshold = 200;
+	private static int inMemory = 0;
+
+	/**
+	 * The number of snapshots in the memory which are being written to the disk
+	 */
+	private static int spilling = 0;
+	private static long fileCount = 0;
+
+	// ----------------
+	// Save and Restore
+	// ----------------
+
+	/**
+	 * Save the inventory content of a player<br>
+	 * An already saved snapshot of the player is replaced<br>
+	 * If the saved snapshot is being read from the disk, it is not replaced and
+	 * not restored, because it still holds the real inventory of the player
+	 * 
+	 * @param player The player whose inventory is saved
+	 */
+	public static void save(Player player) {
+		Snapshot restoring = snapshots.get(player.getUniqueId());
+		if (restoring != null && restoring.restoring) {
+			restoring.restoring = false;
+			return;
+		}
+		discard(player);
+		ItemStack[] contents = player.getInventory().getContents();
+		int[] slots = new int[contents.length];
+		for (int i = 0; i < contents.length; i++) {
+			slots[i] = acquire(contents[i]);
+		}
+		snapshots.put(player.getUniqueId(), new Snapshot(slots));
+		inMemory++;
+		if (inMemory - spilling > spillThreshold) {
+			spillOldest();
+		}
+	}
+
+	/**
+	 * Set the saved inventory content back to the player and remove the
+	 * snapshot<br>
+	 * If the snapshot is on the disk it is read async first and set afterwards on
+	 * the main thread<br>
+	 * The snapshot stays saved until it is set, if the player is offline by then
+	 * or the file can´t be read, it can be restored later
+	 * 
+	 * @param player The player who gets the inventory back
+	 * @return true, if a snapshot of the player was saved <br>
+	 *         false, if no snapshot of the player was saved
+	 */
+	public static boolean restore(Player player) {
+		UUID uuid = player.getUniqueId();
+		Snapshot snapshot = snapshots.get(uuid);
+		if (snapshot == null) {
+			return false;
+		}
+		if (snapshot.restoring) {
+			return true;
+		}
+		if (snapshot.slots != null) {
+			snapshots.remove(uuid);
+			player.getInventory().setContents(toContents(snapshot));
+			release(snapshot);
+			return true;
+		}
+		snapshot.restoring = true;
+		File file = getFile(uuid, snapshot);
+		Bukkit.getScheduler().runTaskAsynchronously(Main.instance, () -> {
+			ItemStack[] contents = readFile(file);
+			Bukkit.getScheduler().runTask(Main.instance, () -> {
+				if (!snapshot.restoring || snapshots.get(uuid) != snapshot) {
+					return;
+				}
+				snapshot.restoring = false;
+				if (contents != null && player.isOnline()) {
+					snapshots.remove(uuid);
+					player.getInventory().setContents(contents);
+					Bukkit.getScheduler().runTaskAsynchronously(Main.instance, () -> file.delete());
+				}
+			});
+		});
+		return true;
+	}
+
+	/**
+	 * Set all saved snapshots back to the online players directly<br>
+	 * Snapshots on the disk are read on the main thread, so only use it in the
+	 * onDisable() method
+	 */
+	public static void restoreAll() {
+		for (UUID uuid : new ArrayList<>(snapshots.keySet())) {
+			Player player = Bukkit.getPlayer(uuid);
+			if (player == null) {
+				continue;
+			}
+			Snapshot snapshot = snapshots.get(uuid);
+			if (snapshot.slots != null) {
+				snapshots.remove(uuid);
+				player.getInventory().setContents(toContents(snapshot));
+				release(snapshot);
+			} else {
+				File file = getFile(uuid, snapshot);
+				ItemStack[] contents = readFile(file);
+				if (contents != null) {
+					snapshots.remove(uuid);
+					player.getInventory().setContents(contents);
+					file.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check if a snapshot of a player is saved
+	 * 
+	 * @param player The player
+	 * @return true, if a snapshot of the player is saved
+	 */
+	public static boolean hasSnapshot(Player player) {
+		return snapshots.containsKey(player.getUniqueId());
+	}
+
+	/**
+	 * Remove the snapshot of a player without setting it back<br>
+	 * A running restore of the snapshot is stopped
+	 * 
+	 * @param player The player
+	 */
+	public static void discard(Player player) {
+		UUID uuid = player.getUniqueId();
+		Snapshot snapshot = snapshots.remove(uuid);
+		if (snapshot == null) {
+			return;
+		}
+		snapshot.restoring = false;
+		if (snapshot.slots != null) {
+			release(snapshot);
+		} else {
+			File file = getFile(uuid, snapshot);
+			Bukkit.getScheduler().runTaskAsynchronously(Main.instance, () -> file.delete());
+		}
+	}
+
+	/**
+	 * Set the number of snapshots kept in the memory<br>
+	 * If more snapshots are saved, the oldest ones are written to the disk
+	 * 
+	 * @param threshold The number of snapshots kept in the memory
+	 */
+	public static void setSpillThreshold(int threshold) {
+		spillThreshold = threshold < 0 ? 0 : threshold;
+	}
+
+	/**
+	 * @return The number of saved snapshots (memory and disk)
+	 */
+	public static int getSnapshotCount() {
+		return snapshots.size();
+	}
+
+	/**
+	 * @return The number of different items in the pool
+	 */
+	public static int getPooledItemCount() {
+		return stackIds.size();
+	}
+
+	// ------------
+	// Help methods
+	// ------------
+
+	/**
+	 * Get the pool id of an item and count one more reference to it<br>
+	 * If the item is not in the pool a copy of it is added
+	 * 
+	 * @param item The item
+	 * @return The pool id of the item
+	 */
+	private static int acquire(ItemStack item) {
+		if (item == null || item.getType() == Material.AIR) {
+			return EMPTY;
+		}
+		Integer id = stackIds.get(item);
+		if (id == null) {
+			ItemStack copy = item.clone();
+			if (freeIds.isEmpty()) {
+				id = stacks.size();
+				stacks.add(copy);
+			} else {
+				id = freeIds.pop();
+				stacks.set(id, copy);
+			}
+			if (id >= references.length) {
+				references = Arrays.copyOf(references, references.length * 2);
+			}
+			stackIds.put(copy, id);
+		}
+		references[id]++;
+		return id;
+	}
+
+	/**
+	 * Remove the references of a snapshot from the pool<br>
+	 * Items without references are removed from the pool
+	 * 
+	 * @param snapshot The snapshot
+	 */
+	private static void release(Snapshot snapshot) {
+		for (int id : snapshot.slots) {
+			if (id != EMPTY && --references[id] == 0) {
+				stackIds.remove(stacks.get(id));
+				stacks.set(id, null);
+				freeIds.push(id);
+			}
+		}
+		snapshot.slots = null;
+		inMemory--;
+	}
+
+	/**
+	 * Create the inventory content of a snapshot
+	 * 
+	 * @param snapshot The snapshot in the memory
+	 * @return New copies of the saved items
+	 */
+	private static ItemStack[] toContents(Snapshot snapshot) {
+		ItemStack[] contents = new ItemStack[snapshot.slots.length];
+		for (int i = 0; i < contents.length; i++) {
+			int id = snapshot.slots[i];
+			contents[i] = id == EMPTY ? null : stacks.get(id).clone();
+		}
+		return contents;
+	}
+
+	/**
+	 * Write the oldest snapshots in the memory to the disk until only spill
+	 * threshold snapshots are left
+	 */
+	private static void spillOldest() {
+		int spill = inMemory - spilling - spillThreshold;
+		Iterator<Map.Entry<UUID, Snapshot>> iterator = snapshots.entrySet().iterator();
+		while (spill > 0 && iterator.hasNext()) {
+			Map.Entry<UUID, Snapshot> entry = iterator.next();
+			Snapshot snapshot = entry.getValue();
+			if (snapshot.slots == null || snapshot.spilling) {
+				continue;
+			}
+			spill(entry.getKey(), snapshot);
+			spill--;
+		}
+	}
+
+	/**
+	 * Write a snapshot async to the disk<br>
+	 * After writing it is removed from the memory on the main thread, if it was
+	 * not restored meanwhile
+	 * 
+	 * @param uuid     The UUID of the player
+	 * @param snapshot The snapshot
+	 */
+	private static void spill(UUID uuid, Snapshot snapshot) {
+		snapshot.spilling = true;
+		spilling++;
+		snapshot.file = fileCount++;
+		File file = getFile(uuid, snapshot);
+		ItemStack[] contents = toContents(snapshot);
+		Bukkit.getScheduler().runTaskAsynchronously(Main.instance, () -> {
+			boolean written = writeFile(file, contents);
+			Bukkit.getScheduler().runTask(Main.instance, () -> {
+				snapshot.spilling = false;
+				spilling--;
+				if (snapshots.get(uuid) != snapshot) {
+					file.delete();
+				} else if (written) {
+					release(snapshot);
+				}
+			});
+		});
+	}
+
+	/**
+	 * Get the file of a snapshot on the disk<br>
+	 * Each written snapshot gets its own file, so an old file can´t replace a new
+	 * one
+	 * 
+	 * @param uuid     The UUID of the player
+	 * @param snapshot The snapshot
+	 * @return The file of the snapshot
+	 */
+	private static File getFile(UUID uuid, Snapshot snapshot) {
+		return new File(new File(Main.instance.getDataFolder(), "snapshots"), uuid + "-" + snapshot.file + ".dat");
+	}
+
+	/**
+	 * Write the filled slots of an inventory content compressed to a file<br>
+	 * The file has the number of slots and then the index and item of each
+	 * filled slot
+	 * 
+	 * @param file     The file
+	 * @param contents The inventory content
+	 * @return true, if the file was written
+	 */
+	private static boolean writeFile(File file, ItemStack[] contents) {
+		file.getParentFile().mkdirs();
+		try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(
+				new GZIPOutputStream(new FileOutputStream(file)))) {
+			out.writeShort(contents.length);
+			for (int i = 0; i < contents.length; i++) {
+				if (contents[i] != null) {
+					out.writeShort(i);
+					out.writeObject(contents[i]);
+				}
+			}
+			out.writeShort(-1);
+			return true;
+		} catch (IOException e) {
+			Main.instance.getLogger().log(Level.WARNING, "Could not write inventory snapshot " + file.getName(), e);
+			file.delete();
+			return false;
+		}
+	}
+
+	private static ItemStack[] readFile(File file) {
+		try (BukkitObjectInputStream in = new BukkitObjectInputStream(
+				new GZIPInputStream(new FileInputStream(file)))) {
+			ItemStack[] contents = new ItemStack[in.readShort()];
+			for (int slot = in.readShort(); slot != -1; slot = in.readShort()) {
+				contents[slot] = (ItemStack) in.readObject();
+			}
+			return contents;
+		} catch (IOException | ClassNotFoundException e) {
+			Main.instance.getLogger().log(Level.WARNING, "Could not read inventory snapshot " + file.getName(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * One saved inventory<br>
+	 * slots is null, if the snapshot is on the disk, restoring is true while it is
+	 * read from the disk
+	 */
+	private static class Snapshot {
+
+		private int[] slots;
+		private boolean spilling;
+		private boolean restoring;
+		private long file;
+
+		private Snapshot(int[] slots) {
+			this.slots = slots;
+		}
+
+	}
+
+}
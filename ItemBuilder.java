@@ -1,5 +1,10 @@
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.bukkit.Color;
 import org.bukkit.Material;
@@ -9,6 +14,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.LeatherArmorMeta;
+import org.bukkit.persistence.PersistentDataType;
 
 /**
  * Create a new ItemBuilder instance<br>
@@ -24,6 +30,15 @@ public class ItemBuilder {
 	private ItemStack itemStack;
 	private ItemMeta itemMeta;
 
+	/**
+	 * If true all lore, ItemFlag and enchant changes are only recorded and added
+	 * to the ItemMeta once in getItem()
+	 */
+	private boolean deferred;
+	private List<String> lore;
+	private Set<ItemFlag> itemFlags;
+	private Map<Enchantment, Integer> enchants;
+
 	/**
 	 * Create a new ItemBuilder from an already existing ItemStack
 	 * 
@@ -56,6 +71,35 @@ public class ItemBuilder {
 		this(material, 1);
 	}
 
+	/**
+	 * Turn the deferred mode on or off<br>
+	 * In deferred mode all lore, ItemFlag and enchant changes are only recorded
+	 * and set to the ItemMeta once in getItem()<br>
+	 * Use it if you change the lore, ItemFlags or enchants many times for one item
+	 * 
+	 * @param deferred If true the changes are recorded from now on <br>
+	 *                 If false all recorded changes are set to the ItemMeta
+	 */
+	public ItemBuilder setDeferred(boolean deferred) {
+		if (deferred == this.deferred) {
+			return this;
+		}
+		if (deferred) {
+			List<String> metaLore = itemMeta.getLore();
+			lore = metaLore == null ? new ArrayList<>() : metaLore;
+			itemFlags = EnumSet.noneOf(ItemFlag.class);
+			itemFlags.addAll(itemMeta.getItemFlags());
+			enchants = new LinkedHashMap<>(itemMeta.getEnchants());
+		} else {
+			applyDeferred();
+			lore = null;
+			itemFlags = null;
+			enchants = null;
+		}
+		this.deferred = deferred;
+		return this;
+	}
+
 	/**
 	 * Change the type of the item
 	 * 
@@ -88,6 +132,30 @@ public class ItemBuilder {
 		return this;
 	}
 
+	/**
+	 * Stamp the code of an item id into the persistent data of the item<br>
+	 * The code stays the same after a restart, so use ItemHandlers to find the
+	 * item again in your listeners
+	 * 
+	 * @param id The id of the item from ItemHandlers.register()
+	 * @throws IllegalArgumentException If the id doesn´t exist
+	 */
+	public ItemBuilder setItemId(int id) {
+		itemMeta.getPersistentDataContainer().set(ItemHandlers.getKey(), PersistentDataType.INTEGER,
+				ItemHandlers.getCode(id));
+		return this;
+	}
+
+	/**
+	 * Stamp the code of an item name into the persistent data of the item<br>
+	 * Use ItemHandlers to find the item again in your listeners
+	 * 
+	 * @param name The name of the item registered in ItemHandlers
+	 */
+	public ItemBuilder setItemId(String name) {
+		return setItemId(ItemHandlers.getId(name));
+	}
+
 	/**
 	 * Set the damage of an item <br>
 	 * It only works for items which are able to get damage like tool or armor items
@@ -122,6 +190,13 @@ public class ItemBuilder {
 	 * @param lore StringList with the new loreItems
 	 */
 	public ItemBuilder setLore(List<String> lore) {
+		if (deferred) {
+			this.lore.clear();
+			if (lore != null) {
+				this.lore.addAll(lore);
+			}
+			return this;
+		}
 		itemMeta.setLore(lore);
 		return this;
 	}
@@ -141,6 +216,10 @@ public class ItemBuilder {
 	 * @param loreItems The StringList with the added loreItems
 	 */
 	public ItemBuilder addLore(List<String> loreItems) {
+		if (deferred) {
+			this.lore.addAll(loreItems);
+			return this;
+		}
 		List<String> lore = itemMeta.getLore();
 		if (lore == null) {
 			return setLore(loreItems);
@@ -165,6 +244,10 @@ public class ItemBuilder {
 	 * @param loreItems The StringList with the loreItems which should be removed
 	 */
 	public ItemBuilder removeLore(List<String> loreItems) {
+		if (deferred) {
+			loreItems.forEach(loreItem -> this.lore.remove(loreItem));
+			return this;
+		}
 		List<String> lore = itemMeta.getLore();
 		if (lore != null) {
 			loreItems.forEach(loreItem -> lore.remove(loreItem));
@@ -186,6 +269,10 @@ public class ItemBuilder {
 	 * Remove the complete lore from the item
 	 */
 	public ItemBuilder clearLore() {
+		if (deferred) {
+			lore.clear();
+			return this;
+		}
 		itemMeta.setLore(null);
 		return this;
 	}
@@ -196,6 +283,10 @@ public class ItemBuilder {
 	 * @param itemFlags The added ItemFlags
 	 */
 	public ItemBuilder addItemFlags(ItemFlag... itemFlags) {
+		if (deferred) {
+			this.itemFlags.addAll(Arrays.asList(itemFlags));
+			return this;
+		}
 		itemMeta.addItemFlags(itemFlags);
 		return this;
 	}
@@ -206,6 +297,10 @@ public class ItemBuilder {
 	 * @param itemFlags The removed ItemFlags
 	 */
 	public ItemBuilder removeItemFlags(ItemFlag... itemFlags) {
+		if (deferred) {
+			this.itemFlags.removeAll(Arrays.asList(itemFlags));
+			return this;
+		}
 		itemMeta.removeItemFlags(itemFlags);
 		return this;
 	}
@@ -214,9 +309,11 @@ public class ItemBuilder {
 	 * Remove all ItemFlags from the item
 	 */
 	public ItemBuilder clearItemFlags() {
-		for (ItemFlag flag : itemMeta.getItemFlags()) {
-			removeItemFlags(flag);
+		if (deferred) {
+			itemFlags.clear();
+			return this;
 		}
+		itemMeta.removeItemFlags(ItemFlag.values());
 		return this;
 	}
 
@@ -229,6 +326,10 @@ public class ItemBuilder {
 	 *                It´s not restricted
 	 */
 	public ItemBuilder addEnchant(Enchantment enchant, int level) {
+		if (deferred) {
+			enchants.put(enchant, level);
+			return this;
+		}
 		itemMeta.addEnchant(enchant, level, true);
 		return this;
 	}
@@ -266,6 +367,12 @@ public class ItemBuilder {
 	 * @param enchants The array of enchants which should be removed
 	 */
 	public ItemBuilder removeEnchants(Enchantment... enchants) {
+		if (deferred) {
+			for (Enchantment enchant : enchants) {
+				this.enchants.remove(enchant);
+			}
+			return this;
+		}
 		for (Enchantment enchant : enchants) {
 			itemMeta.removeEnchant(enchant);
 		}
@@ -276,6 +383,10 @@ public class ItemBuilder {
 	 * Removing all enchants from the item
 	 */
 	public ItemBuilder clearEnchants() {
+		if (deferred) {
+			enchants.clear();
+			return this;
+		}
 		for (Enchantment enchant : itemMeta.getEnchants().keySet()) {
 			removeEnchants(enchant);
 		}
@@ -329,8 +440,37 @@ public class ItemBuilder {
 	 * @return The created ItemStack
 	 */
 	public ItemStack getItem() {
+		if (deferred) {
+			applyDeferred();
+		}
 		itemStack.setItemMeta(itemMeta);
 		return itemStack;
 	}
 
+	/**
+	 * Gives you the created item back as a frozen ItemTemplate<br>
+	 * Use it for items you need many times, each copy is only a clone
+	 * 
+	 * @return The created ItemTemplate
+	 */
+	public ItemTemplate toTemplate() {
+		return new ItemTemplate(this);
+	}
+
+	/**
+	 * Set the recorded lore, ItemFlags and enchants of the deferred mode to the
+	 * ItemMeta
+	 */
+	private void applyDeferred() {
+		itemMeta.setLore(lore.isEmpty() ? null : lore);
+		itemMeta.removeItemFlags(ItemFlag.values());
+		itemMeta.addItemFlags(itemFlags.toArray(new ItemFlag[0]));
+		for (Enchantment enchant : itemMeta.getEnchants().keySet()) {
+			if (!enchants.containsKey(enchant)) {
+				itemMeta.removeEnchant(enchant);
+			}
+		}
+		enchants.forEach((enchant, level) -> itemMeta.addEnchant(enchant, level, true));
+	}
+
 }
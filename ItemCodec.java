@@ -0,0 +1,205 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Color;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+
+/**
+ * Write and read items in a compact binary form<br>
+ * Only the attributes an ItemBuilder can set are stored: type, amount, name,
+ * lore, enchants, ItemFlags, damage, unbreakable and leather color<br>
+ * Each item starts with one byte which tells which attributes follow, so an
+ * item without name or lore costs only a few bytes<br>
+ * Materials, enchants and ItemFlags are stored by name, so the files can be read
+ * by other server versions
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public final class ItemCodec {
+
+	private static final int NAME = 1;
+	private static final int LORE = 1 << 1;
+	private static final int ENCHANTS = 1 << 2;
+	private static final int FLAGS = 1 << 3;
+	private static final int DAMAGE = 1 << 4;
+	private static final int UNBREAKABLE = 1 << 5;
+	private static final int COLOR = 1 << 6;
+
+	private ItemCodec() {
+
+	}
+
+	/**
+	 * Write an item to an output
+	 * 
+	 * @param out  The output
+	 * @param item The item, it can be null for an empty slot
+	 * @throws IOException If the output can´t be written
+	 */
+	public static void write(DataOutput out, ItemStack item) throws IOException {
+		if (item == null || item.getType() == Material.AIR) {
+			out.writeUTF("");
+			return;
+		}
+		out.writeUTF(item.getType().name());
+		out.writeByte(item.getAmount());
+
+		ItemMeta meta = item.getItemMeta();
+		if (meta == null) {
+			out.writeByte(0);
+			return;
+		}
+		int damage = meta instanceof Damageable ? ((Damageable) meta).getDamage() : 0;
+		Color color = meta instanceof LeatherArmorMeta ? ((LeatherArmorMeta) meta).getColor() : null;
+
+		int mask = 0;
+		mask |= meta.hasDisplayName() ? NAME : 0;
+		mask |= meta.hasLore() ? LORE : 0;
+		mask |= meta.hasEnchants() ? ENCHANTS : 0;
+		mask |= meta.getItemFlags().isEmpty() ? 0 : FLAGS;
+		mask |= damage != 0 ? DAMAGE : 0;
+		mask |= meta.isUnbreakable() ? UNBREAKABLE : 0;
+		mask |= color != null ? COLOR : 0;
+		out.writeByte(mask);
+
+		if ((mask & NAME) != 0) {
+			out.writeUTF(meta.getDisplayName());
+		}
+		if ((mask & LORE) != 0) {
+			List<String> lore = meta.getLore();
+			out.writeShort(lore.size());
+			for (String line : lore) {
+				out.writeUTF(line);
+			}
+		}
+		if ((mask & ENCHANTS) != 0) {
+			Map<Enchantment, Integer> enchants = meta.getEnchants();
+			out.writeByte(enchants.size());
+			for (Map.Entry<Enchantment, Integer> enchant : enchants.entrySet()) {
+				out.writeUTF(enchant.getKey().getKey().toString());
+				out.writeInt(enchant.getValue());
+			}
+		}
+		if ((mask & FLAGS) != 0) {
+			out.writeByte(meta.getItemFlags().size());
+			for (ItemFlag flag : meta.getItemFlags()) {
+				out.writeUTF(flag.name());
+			}
+		}
+		if ((mask & DAMAGE) != 0) {
+			out.writeShort(damage);
+		}
+		if ((mask & COLOR) != 0) {
+			out.writeInt(color.asRGB());
+		}
+	}
+
+	/**
+	 * Read an item from an input
+	 * 
+	 * @param in The input
+	 * @return The ItemBuilder with the read item, it is in deferred mode <br>
+	 *         null, if the item was an empty slot
+	 * @throws IOException If the input can´t be read or contains an unknown
+	 *                     material
+	 */
+	public static ItemBuilder read(DataInput in) throws IOException {
+		String type = in.readUTF();
+		if (type.isEmpty()) {
+			return null;
+		}
+		Material material = Material.getMaterial(type);
+		if (material == null) {
+			throw new IOException("Unknown material " + type);
+		}
+		ItemBuilder builder = new ItemBuilder(material, in.readByte()).setDeferred(true);
+
+		int mask = in.readByte();
+		if ((mask & NAME) != 0) {
+			builder.setName(in.readUTF());
+		}
+		if ((mask & LORE) != 0) {
+			int size = in.readUnsignedShort();
+			List<String> lore = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				lore.add(in.readUTF());
+			}
+			builder.setLore(lore);
+		}
+		if ((mask & ENCHANTS) != 0) {
+			int size = in.readUnsignedByte();
+			for (int i = 0; i < size; i++) {
+				Enchantment enchant = Enchantment.getByKey(NamespacedKey.fromString(in.readUTF()));
+				int level = in.readInt();
+				if (enchant != null) {
+					builder.addEnchant(enchant, level);
+				}
+			}
+		}
+		if ((mask & FLAGS) != 0) {
+			int size = in.readUnsignedByte();
+			for (int i = 0; i < size; i++) {
+				String name = in.readUTF();
+				try {
+					builder.addItemFlags(ItemFlag.valueOf(name));
+				} catch (IllegalArgumentException e) {
+					// The flag doesn´t exist in this server version
+				}
+			}
+		}
+		if ((mask & DAMAGE) != 0) {
+			builder.setDamage(in.readShort());
+		}
+		if ((mask & UNBREAKABLE) != 0) {
+			builder.setUnbreakable(true);
+		}
+		if ((mask & COLOR) != 0) {
+			builder.setLeatherColor(Color.fromRGB(in.readInt()));
+		}
+		return builder;
+	}
+
+	/**
+	 * Write an array of items (a kit or an inventory) to an output
+	 * 
+	 * @param out   The output
+	 * @param items The items, empty slots can be null
+	 * @throws IOException If the output can´t be written
+	 */
+	public static void writeItems(DataOutput out, ItemStack[] items) throws IOException {
+		out.writeShort(items.length);
+		for (ItemStack item : items) {
+			write(out, item);
+		}
+	}
+
+	/**
+	 * Read an array of items (a kit or an inventory) from an input
+	 * 
+	 * @param in The input
+	 * @return The read items, empty slots are null
+	 * @throws IOException If the input can´t be read
+	 */
+	public static ItemStack[] readItems(DataInput in) throws IOException {
+		ItemStack[] items = new ItemStack[in.readUnsignedShort()];
+		for (int i = 0; i < items.length; i++) {
+			ItemBuilder builder = read(in);
+			items[i] = builder == null ? null : builder.getItem();
+		}
+		return items;
+	}
+
+}
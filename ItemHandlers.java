@@ -0,0 +1,252 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import main.Main;
+
+/**
+ * Find your own items in click and interact listeners without comparing names
+ * or lore<br>
+ * Register a handler for an item name, stamp it into the item with
+ * ItemBuilder.setItemId() and call handle() in your listener<br>
+ * The item stores the code of its name (the hash of the name), so it keeps its
+ * handler after a restart, the id is only the index of the handler while the
+ * server runs<br>
+ * The handler is found by the stamped number, without comparing strings
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class ItemHandlers {
+
+	public static final int NO_ID = -1;
+
+	/**
+	 * The handler for clicks or interactions with an item
+	 */
+	public interface Handler {
+
+		/**
+		 * @param player The player who used the item
+		 * @param item   The used item
+		 * @param event  The event of the listener, for example to cancel it
+		 */
+		void handle(Player player, ItemStack item, Event event);
+
+	}
+
+	/**
+	 * A HashMap for storing all item names, each name leads to its id
+	 */
+	private static HashMap<String, Integer> ids = new HashMap<>();
+
+	/**
+	 * All handlers, the id of an item is the index of its handler
+	 */
+	private static ArrayList<Handler> handlers = new ArrayList<>();
+
+	/**
+	 * All item names, the id of an item is the index of its name
+	 */
+	private static ArrayList<String> names = new ArrayList<>();
+
+	/**
+	 * The sorted codes of all names and the id of each code at the same index
+	 */
+	private static int[] codes = new int[0];
+	private static int[] codeIds = new int[0];
+
+	private static NamespacedKey key;
+
+	// --------
+	// Register
+	// --------
+
+	/**
+	 * Register a handler for an item name<br>
+	 * An already registered handler for the name is replaced, the id stays the
+	 * same
+	 * 
+	 * @param name    The name of the item, only used to find the id
+	 * @param handler The handler of the item
+	 * @return The id of the item
+	 */
+	public static int register(String name, Handler handler) {
+		int id = getId(name);
+		handlers.set(id, handler);
+		return id;
+	}
+
+	/**
+	 * Get the id of an item name<br>
+	 * If the name has no id yet, it gets a new id without a handler<br>
+	 * The id can be different after a restart, only the code of the name is
+	 * stamped into items
+	 * 
+	 * @param name The name of the item
+	 * @return The id of the item
+	 * @throws IllegalArgumentException If the name has the same code as another
+	 *                                  name, then rename one of the items
+	 */
+	public static int getId(String name) {
+		Integer id = ids.get(name);
+		if (id == null) {
+			int code = getCode(name);
+			int index = Arrays.binarySearch(codes, code);
+			if (index >= 0) {
+				throw new IllegalArgumentException(
+						"Item name " + name + " has the same code as " + names.get(codeIds[index]));
+			}
+			id = handlers.size();
+			ids.put(name, id);
+			handlers.add(null);
+			names.add(name);
+			index = -index - 1;
+			codes = insert(codes, index, code);
+			codeIds = insert(codeIds, index, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Get the code of an item name, which is stamped into items<br>
+	 * It is the same after a restart
+	 * 
+	 * @param name The name of the item
+	 * @return The code of the name
+	 */
+	public static int getCode(String name) {
+		return name.hashCode();
+	}
+
+	/**
+	 * Remove the handler of an item name<br>
+	 * The id stays reserved for the name
+	 * 
+	 * @param name The name of the item
+	 */
+	public static void unregister(String name) {
+		Integer id = ids.get(name);
+		if (id != null) {
+			handlers.set(id, null);
+		}
+	}
+
+	// ------
+	// Handle
+	// ------
+
+	/**
+	 * Get the id of the item name stamped into an item
+	 * 
+	 * @param item The item
+	 * @return The id of the item <br>
+	 *         NO_ID, if the item has no code or its name has no id
+	 */
+	public static int getId(ItemStack item) {
+		if (item == null || !item.hasItemMeta()) {
+			return NO_ID;
+		}
+		ItemMeta meta = item.getItemMeta();
+		Integer code = meta.getPersistentDataContainer().get(getKey(), PersistentDataType.INTEGER);
+		if (code == null) {
+			return NO_ID;
+		}
+		int index = Arrays.binarySearch(codes, code);
+		return index < 0 ? NO_ID : codeIds[index];
+	}
+
+	/**
+	 * Get the item name stamped into an item
+	 * 
+	 * @param item The item
+	 * @return The name of the item <br>
+	 *         null, if the item has no code or its name has no id
+	 */
+	public static String getName(ItemStack item) {
+		return getName(getId(item));
+	}
+
+	/**
+	 * Get the item name of an id
+	 * 
+	 * @param id The id of the item
+	 * @return The name of the item <br>
+	 *         null, if the id doesn´t exist
+	 */
+	public static String getName(int id) {
+		return id < 0 || id >= names.size() ? null : names.get(id);
+	}
+
+	/**
+	 * Get the handler of an item
+	 * 
+	 * @param item The item
+	 * @return The handler of the item <br>
+	 *         null, if the item has no id or no handler is registered for it
+	 */
+	public static Handler getHandler(ItemStack item) {
+		int id = getId(item);
+		return id < 0 || id >= handlers.size() ? null : handlers.get(id);
+	}
+
+	/**
+	 * Run the handler of an item, use it in your click and interact listeners
+	 * 
+	 * @param player The player who used the item
+	 * @param item   The used item
+	 * @param event  The event of the listener
+	 * @return true, if a handler was run <br>
+	 *         false, if the item has no id or no handler is registered for it
+	 */
+	public static boolean handle(Player player, ItemStack item, Event event) {
+		Handler handler = getHandler(item);
+		if (handler == null) {
+			return false;
+		}
+		handler.handle(player, item, event);
+		return true;
+	}
+
+	/**
+	 * Get the code of an id, which is stamped into items
+	 * 
+	 * @param id The id of the item
+	 * @return The code of the item name
+	 * @throws IllegalArgumentException If the id doesn´t exist
+	 */
+	static int getCode(int id) {
+		String name = getName(id);
+		if (name == null) {
+			throw new IllegalArgumentException("Unknown item id " + id);
+		}
+		return getCode(name);
+	}
+
+	/**
+	 * @return The key of the item code in the persistent data of an item
+	 */
+	static NamespacedKey getKey() {
+		if (key == null) {
+			key = new NamespacedKey(Main.instance, "item_code");
+		}
+		return key;
+	}
+
+	private static int[] insert(int[] array, int index, int value) {
+		int[] copy = new int[array.length + 1];
+		System.arraycopy(array, 0, copy, 0, index);
+		copy[index] = value;
+		System.arraycopy(array, index, copy, index + 1, array.length - index);
+		return copy;
+	}
+
+}
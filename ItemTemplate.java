@@ -0,0 +1,224 @@
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * A frozen item created once from an ItemBuilder<br>
+ * Use it for items you give out again and again (kits, menu icons ...)<br>
+ * Every call of getItem() only clones the stored item, the ItemMeta is not
+ * rebuilt<br>
+ * Templates can be registered with a key, so you can get the same item
+ * everywhere in your plugin
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public final class ItemTemplate {
+
+	/**
+	 * A HashMap for storing all registered templates, each key leads to one
+	 * template
+	 */
+	private static HashMap<String, ItemTemplate> templates = new HashMap<>();
+
+	/**
+	 * A HashMap for storing all lazy registered templates, each key leads to the
+	 * supplier which creates the template on first use
+	 */
+	private static HashMap<String, Supplier<ItemTemplate>> lazyTemplates = new HashMap<>();
+
+	private final ItemStack itemStack;
+
+	/**
+	 * Create a new ItemTemplate from an ItemBuilder<br>
+	 * Later changes on the ItemBuilder don´t change the template
+	 * 
+	 * @param itemBuilder The ItemBuilder with the finished item
+	 */
+	public ItemTemplate(ItemBuilder itemBuilder) {
+		this(itemBuilder.getItem());
+	}
+
+	/**
+	 * Create a new ItemTemplate from an ItemStack<br>
+	 * Later changes on the ItemStack don´t change the template
+	 * 
+	 * @param itemStack The finished item
+	 */
+	public ItemTemplate(ItemStack itemStack) {
+		this.itemStack = itemStack.clone();
+	}
+
+	/**
+	 * Gives you a new copy of the template
+	 * 
+	 * @return A new ItemStack, changes on it don´t change the template
+	 */
+	public ItemStack getItem() {
+		return itemStack.clone();
+	}
+
+	/**
+	 * Gives you a new copy of the template with another amount
+	 * 
+	 * @param amount The amount of the copy <br>
+	 *               The value of the amount is restricted from 0 to 127
+	 * @return A new ItemStack, changes on it don´t change the template
+	 */
+	public ItemStack getItem(int amount) {
+		ItemStack item = itemStack.clone();
+		item.setAmount(amount < 0 ? 0 : amount > 127 ? 127 : amount);
+		return item;
+	}
+
+	/**
+	 * Gives you an array of copies of the template, for example for every slot of
+	 * a kit
+	 * 
+	 * @param count The number of copies
+	 * @return An array with count new ItemStacks
+	 */
+	public ItemStack[] getItems(int count) {
+		ItemStack[] items = new ItemStack[count];
+		for (int i = 0; i < count; i++) {
+			items[i] = itemStack.clone();
+		}
+		return items;
+	}
+
+	/**
+	 * Check if an item looks exactly like this template (amount is ignored)
+	 * 
+	 * @param item The item to check
+	 * @return true, if the item is similar to the template
+	 */
+	public boolean isSimilar(ItemStack item) {
+		return itemStack.isSimilar(item);
+	}
+
+	// --------
+	// Registry
+	// --------
+
+	/**
+	 * Register a new template from an ItemBuilder under a key<br>
+	 * An already registered template with the same key is replaced
+	 * 
+	 * @param key         The key of the template
+	 * @param itemBuilder The ItemBuilder with the finished item
+	 * @return The registered template
+	 */
+	public static ItemTemplate register(String key, ItemBuilder itemBuilder) {
+		return register(key, new ItemTemplate(itemBuilder));
+	}
+
+	/**
+	 * Register a template under a key<br>
+	 * An already registered template with the same key is replaced
+	 * 
+	 * @param key      The key of the template
+	 * @param template The template
+	 * @return The registered template
+	 */
+	public static ItemTemplate register(String key, ItemTemplate template) {
+		lazyTemplates.remove(key);
+		templates.put(key, template);
+		return template;
+	}
+
+	/**
+	 * Register a template under a key which is created on first use<br>
+	 * The supplier is called once, the first time the key is used<br>
+	 * An already registered template with the same key is replaced
+	 * 
+	 * @param key         The key of the template
+	 * @param itemBuilder The supplier of the ItemBuilder with the finished item
+	 */
+	public static void registerLazy(String key, Supplier<ItemBuilder> itemBuilder) {
+		registerLazyTemplate(key, () -> new ItemTemplate(itemBuilder.get()));
+	}
+
+	/**
+	 * Register a template under a key which is created on first use<br>
+	 * The supplier is called once, the first time the key is used<br>
+	 * An already registered template with the same key is replaced
+	 * 
+	 * @param key      The key of the template
+	 * @param template The supplier of the template
+	 */
+	public static void registerLazyTemplate(String key, Supplier<ItemTemplate> template) {
+		templates.remove(key);
+		lazyTemplates.put(key, template);
+	}
+
+	/**
+	 * Get the template registered under a key
+	 * 
+	 * @param key The key of the template
+	 * @return The template, if a template is registered under the key <br>
+	 *         null, if no template is registered under the key
+	 */
+	public static ItemTemplate get(String key) {
+		ItemTemplate template = templates.get(key);
+		if (template == null) {
+			Supplier<ItemTemplate> supplier = lazyTemplates.remove(key);
+			if (supplier != null) {
+				template = register(key, supplier.get());
+			}
+		}
+		return template;
+	}
+
+	/**
+	 * Get a new copy of the template registered under a key
+	 * 
+	 * @param key The key of the template
+	 * @return A new ItemStack, if a template is registered under the key <br>
+	 *         null, if no template is registered under the key
+	 */
+	public static ItemStack getItem(String key) {
+		ItemTemplate template = get(key);
+		return template == null ? null : template.getItem();
+	}
+
+	/**
+	 * Get all registered keys, also the keys of lazy templates which were not used
+	 * yet
+	 * 
+	 * @return The set of keys, you can´t change it
+	 */
+	public static Set<String> getKeys() {
+		if (lazyTemplates.isEmpty()) {
+			return Collections.unmodifiableSet(templates.keySet());
+		}
+		Set<String> keys = new HashSet<>(templates.keySet());
+		keys.addAll(lazyTemplates.keySet());
+		return Collections.unmodifiableSet(keys);
+	}
+
+	/**
+	 * Remove an array of templates from the registry
+	 * 
+	 * @param keys The keys of the templates
+	 */
+	public static void unregister(String... keys) {
+		for (String key : keys) {
+			templates.remove(key);
+			lazyTemplates.remove(key);
+		}
+	}
+
+	/**
+	 * Remove all templates from the registry
+	 */
+	public static void clearTemplates() {
+		templates.clear();
+		lazyTemplates.clear();
+	}
+
+}
@@ -0,0 +1,202 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * A file with many kits in the binary form of the ItemCodec<br>
+ * Write the file once with write() and open it with open()<br>
+ * Opening only reads the index of the file, a kit is read the first time you
+ * ask for it and then kept as ItemTemplates
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class KitLibrary {
+
+	private static final int MAGIC = 0x4B495453;
+	private static final int VERSION = 2;
+
+	private final MappedByteBuffer buffer;
+
+	/**
+	 * A HashMap for storing the position of each kit in the file, each kit id leads
+	 * to the offset and length of the kit
+	 */
+	private HashMap<String, int[]> index = new HashMap<>();
+
+	/**
+	 * A HashMap for storing the already read kits, each kit id leads to the
+	 * templates of the kit slots
+	 */
+	private HashMap<String, ItemTemplate[]> kits = new HashMap<>();
+
+	private KitLibrary(MappedByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if (buffer.getInt() != MAGIC) {
+			throw new IOException("No kit library file");
+		}
+		if (buffer.getShort() != VERSION) {
+			throw new IOException("Unknown kit library version");
+		}
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			byte[] id = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(id);
+			index.put(new String(id, StandardCharsets.UTF_8), new int[] { buffer.getInt(), buffer.getInt() });
+		}
+		int dataStart = buffer.position();
+		for (int[] entry : index.values()) {
+			entry[0] += dataStart;
+		}
+	}
+
+	/**
+	 * Open a kit library file<br>
+	 * The file is memory-mapped, only the index is read directly
+	 * 
+	 * @param file The kit library file
+	 * @return The opened KitLibrary
+	 * @throws IOException If the file can´t be read or is no kit library file
+	 */
+	public static KitLibrary open(File file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			return new KitLibrary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Write kits into a new kit library file<br>
+	 * An already existing file is replaced
+	 * 
+	 * @param file The kit library file
+	 * @param kits The kits, each kit id leads to the items of the kit (empty slots
+	 *             can be null)
+	 * @throws IOException If the file can´t be written
+	 */
+	public static void write(File file, Map<String, ItemStack[]> kits) throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		DataOutputStream dataOut = new DataOutputStream(data);
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		DataOutputStream headerOut = new DataOutputStream(header);
+
+		headerOut.writeInt(MAGIC);
+		headerOut.writeShort(VERSION);
+		headerOut.writeInt(kits.size());
+		for (Map.Entry<String, ItemStack[]> kit : kits.entrySet()) {
+			int offset = dataOut.size();
+			ItemCodec.writeItems(dataOut, kit.getValue());
+			byte[] id = kit.getKey().getBytes(StandardCharsets.UTF_8);
+			headerOut.writeShort(id.length);
+			headerOut.write(id);
+			headerOut.writeInt(offset);
+			headerOut.writeInt(dataOut.size() - offset);
+		}
+
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			header.writeTo(out);
+			data.writeTo(out);
+		}
+	}
+
+	/**
+	 * Get new copies of the items of a kit<br>
+	 * The first call for a kit reads it from the file
+	 * 
+	 * @param id The id of the kit
+	 * @return The items of the kit, empty slots are null <br>
+	 *         null, if no kit with the id is in the file
+	 * @throws IOException If the kit can´t be read
+	 */
+	public ItemStack[] getKit(String id) throws IOException {
+		ItemTemplate[] kit = kits.get(id);
+		if (kit == null) {
+			kit = readKit(id);
+			if (kit == null) {
+				return null;
+			}
+			kits.put(id, kit);
+		}
+		ItemStack[] items = new ItemStack[kit.length];
+		for (int i = 0; i < kit.length; i++) {
+			items[i] = kit[i] == null ? null : kit[i].getItem();
+		}
+		return items;
+	}
+
+	/**
+	 * Replace the inventory content of a player with a kit
+	 * 
+	 * @param player The player who gets the kit
+	 * @param id     The id of the kit
+	 * @return true, if the kit was given <br>
+	 *         false, if no kit with the id is in the file
+	 * @throws IOException If the kit can´t be read
+	 */
+	public boolean giveKit(Player player, String id) throws IOException {
+		ItemStack[] items = getKit(id);
+		if (items == null) {
+			return false;
+		}
+		player.getInventory().setContents(items);
+		return true;
+	}
+
+	/**
+	 * Check if a kit is in the file
+	 * 
+	 * @param id The id of the kit
+	 * @return true, if a kit with the id is in the file
+	 */
+	public boolean hasKit(String id) {
+		return index.containsKey(id);
+	}
+
+	/**
+	 * Get the ids of all kits in the file
+	 * 
+	 * @return The set of kit ids, you can´t change it
+	 */
+	public Set<String> getIds() {
+		return Collections.unmodifiableSet(index.keySet());
+	}
+
+	/**
+	 * Read a kit from the file
+	 * 
+	 * @param id The id of the kit
+	 * @return The templates of the kit slots <br>
+	 *         null, if no kit with the id is in the file
+	 * @throws IOException If the kit can´t be read
+	 */
+	private ItemTemplate[] readKit(String id) throws IOException {
+		int[] entry = index.get(id);
+		if (entry == null) {
+			return null;
+		}
+		byte[] data = new byte[entry[1]];
+		buffer.get(entry[0], data);
+		ItemStack[] items = ItemCodec.readItems(new DataInputStream(new ByteArrayInputStream(data)));
+		ItemTemplate[] kit = new ItemTemplate[items.length];
+		for (int i = 0; i < items.length; i++) {
+			kit[i] = items[i] == null ? null : new ItemTemplate(items[i]);
+		}
+		return kit;
+	}
+
+}
@@ -0,0 +1,200 @@
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * A live top list (for example "Top 10 kills") on a sidebar of the
+ * Scoreboards<br>
+ * All scores are kept sorted, changing a score only moves one entry<br>
+ * The sidebar lines are only updated if the shown names, their order or their
+ * scores changed, score changes of players outside the top list cost no update
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class Leaderboard {
+
+	/**
+	 * Sorts the highest score first, equal scores by name
+	 */
+	private static final Comparator<Entry> ORDER = (a, b) -> a.score != b.score ? Integer.compare(b.score, a.score)
+			: a.name.compareTo(b.name);
+
+	private final Scoreboards board;
+	private final int size;
+	private final String format;
+
+	private TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+
+	/**
+	 * A HashMap for storing all entries, each name leads to its entry
+	 */
+	private HashMap<String, Entry> entries = new HashMap<>();
+
+	/**
+	 * The shown lines, index 0 is the first place
+	 */
+	private String[] lines;
+	private int lineCount = 0;
+
+	/**
+	 * Create a new Leaderboard with a new board of the Scoreboards
+	 * 
+	 * @param boardName The name of the new board, use it to add the board to
+	 *                  players
+	 * @param title     The title of the sidebar
+	 * @param size      The number of shown places, 1-15 (1 and 15 included)
+	 * @param format    The format of a line with the place, name and score, for
+	 *                  example "§e#%d §f%s §7%d"
+	 */
+	public Leaderboard(String boardName, String title, int size, String format) {
+		this.size = size < 1 ? 1 : size > 15 ? 15 : size;
+		this.format = format;
+		this.board = Scoreboards.createBoard(boardName, title);
+		this.lines = new String[this.size];
+	}
+
+	/**
+	 * Create a new Leaderboard with a new board of the Scoreboards and the format
+	 * "§e#%d §f%s §7%d"
+	 * 
+	 * @param boardName The name of the new board, use it to add the board to
+	 *                  players
+	 * @param title     The title of the sidebar
+	 * @param size      The number of shown places, 1-15 (1 and 15 included)
+	 */
+	public Leaderboard(String boardName, String title, int size) {
+		this(boardName, title, size, "§e#%d §f%s §7%d");
+	}
+
+	/**
+	 * Set the score of a name<br>
+	 * The sidebar is only updated if the shown top list changed
+	 * 
+	 * @param name  The name, for example the player name
+	 * @param score The new score
+	 */
+	public void setScore(String name, int score) {
+		Entry entry = entries.get(name);
+		if (entry == null) {
+			entry = new Entry(name);
+			entries.put(name, entry);
+		} else if (entry.score == score) {
+			return;
+		} else {
+			ranking.remove(entry);
+		}
+		entry.score = score;
+		ranking.add(entry);
+		update();
+	}
+
+	/**
+	 * Add a value to the score of a name
+	 * 
+	 * @param name  The name, for example the player name
+	 * @param value The value added to the score
+	 */
+	public void addScore(String name, int value) {
+		Entry entry = entries.get(name);
+		setScore(name, entry == null ? value : entry.score + value);
+	}
+
+	/**
+	 * Get the score of a name
+	 * 
+	 * @param name The name
+	 * @return The score, 0 if the name has no score
+	 */
+	public int getScore(String name) {
+		Entry entry = entries.get(name);
+		return entry == null ? 0 : entry.score;
+	}
+
+	/**
+	 * Remove a name from the Leaderboard
+	 * 
+	 * @param name The name
+	 */
+	public void remove(String name) {
+		Entry entry = entries.remove(name);
+		if (entry != null) {
+			ranking.remove(entry);
+			update();
+		}
+	}
+
+	/**
+	 * Remove all names from the Leaderboard
+	 */
+	public void clear() {
+		entries.clear();
+		ranking.clear();
+		update();
+	}
+
+	/**
+	 * @return The board of the Scoreboards which shows the Leaderboard
+	 */
+	public Scoreboards getBoard() {
+		return board;
+	}
+
+	/**
+	 * Compare the top places with the shown lines and only change the different
+	 * lines
+	 */
+	private void update() {
+		Iterator<Entry> iterator = ranking.iterator();
+		int place = 0;
+		while (place < size && iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if (entry.line == null || entry.lineScore != entry.score || !entry.line.equals(lines[place])) {
+				entry.line = String.format(format, place + 1, entry.name, entry.score);
+				entry.lineScore = entry.score;
+			}
+			setLine(place, entry.line);
+			place++;
+		}
+		while (lineCount > place) {
+			lineCount--;
+			board.removeTeam("top" + lineCount);
+			lines[lineCount] = null;
+		}
+	}
+
+	/**
+	 * Change a line if its text is different
+	 * 
+	 * @param place The place, 0 is the first place
+	 * @param text  The new text
+	 */
+	private void setLine(int place, String text) {
+		if (place >= lineCount) {
+			board.addTeam("top" + place, text, size - place);
+			lineCount = place + 1;
+		} else if (!text.equals(lines[place])) {
+			board.updateTeam("top" + place, text);
+		}
+		lines[place] = text;
+	}
+
+	/**
+	 * One name with its score and its last formatted line
+	 */
+	private static class Entry {
+
+		private final String name;
+		private int score;
+		private String line;
+		private int lineScore;
+
+		private Entry(String name) {
+			this.name = name;
+		}
+
+	}
+
+}
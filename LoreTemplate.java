@@ -0,0 +1,148 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+import org.bukkit.entity.Player;
+
+/**
+ * A lore with placeholders which is rendered for each player<br>
+ * Write placeholders in the lore like {kills} and register a placeholder with
+ * registerPlaceholder("kills", player -> ...)<br>
+ * The lore lines are compiled once, render(player) only puts the values of the
+ * player into the lines
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public final class LoreTemplate {
+
+	/**
+	 * A HashMap for storing all placeholders, each name leads to the function
+	 * which gives back the value for a player
+	 */
+	private static HashMap<String, Function<Player, Object>> placeholders = new HashMap<>();
+
+	/**
+	 * Each line is split into parts<br>
+	 * Parts with an even index are text, parts with an odd index are placeholder
+	 * names
+	 */
+	private final String[][] lines;
+
+	/**
+	 * Create a new LoreTemplate from a list of lore lines
+	 * 
+	 * @param lore StringList with the lore lines and placeholders like {kills}
+	 */
+	public LoreTemplate(List<String> lore) {
+		lines = new String[lore.size()][];
+		for (int i = 0; i < lines.length; i++) {
+			lines[i] = compile(lore.get(i));
+		}
+	}
+
+	/**
+	 * Create a new LoreTemplate from an array of lore lines
+	 * 
+	 * @param lore Variable StringArray input with the lore lines and placeholders
+	 *             like {kills}
+	 */
+	public LoreTemplate(String... lore) {
+		this(Arrays.asList(lore));
+	}
+
+	/**
+	 * Render the lore for a player
+	 * 
+	 * @param player The player whose values are used for the placeholders
+	 * @return A new StringList with the rendered lore
+	 */
+	public List<String> render(Player player) {
+		List<String> lore = new ArrayList<>(lines.length);
+		StringBuilder builder = new StringBuilder();
+		for (String[] parts : lines) {
+			if (parts.length == 1) {
+				lore.add(parts[0]);
+				continue;
+			}
+			builder.setLength(0);
+			for (int i = 0; i < parts.length; i++) {
+				builder.append(i % 2 == 0 ? parts[i] : getValue(parts[i], player));
+			}
+			lore.add(builder.toString());
+		}
+		return lore;
+	}
+
+	// ------------
+	// Placeholders
+	// ------------
+
+	/**
+	 * Register a placeholder for all LoreTemplates<br>
+	 * An already registered placeholder with the same name is replaced
+	 * 
+	 * @param name  The name of the placeholder without the braces
+	 * @param value The function which gives back the value for a player
+	 */
+	public static void registerPlaceholder(String name, Function<Player, Object> value) {
+		placeholders.put(name, value);
+	}
+
+	/**
+	 * Remove an array of placeholders
+	 * 
+	 * @param names The names of the placeholders without the braces
+	 */
+	public static void unregisterPlaceholders(String... names) {
+		for (String name : names) {
+			placeholders.remove(name);
+		}
+	}
+
+	// ------------
+	// Help methods
+	// ------------
+
+	/**
+	 * Get the value of a placeholder for a player
+	 * 
+	 * @param name   The name of the placeholder
+	 * @param player The player
+	 * @return The value of the placeholder <br>
+	 *         The placeholder itself with braces, if no placeholder is registered
+	 *         with the name
+	 */
+	private static String getValue(String name, Player player) {
+		Function<Player, Object> value = placeholders.get(name);
+		return value == null ? "{" + name + "}" : String.valueOf(value.apply(player));
+	}
+
+	/**
+	 * Split a lore line into text parts and placeholder names
+	 * 
+	 * @param line The lore line
+	 * @return The parts of the line
+	 */
+	private static String[] compile(String line) {
+		List<String> parts = new ArrayList<>();
+		int start = 0;
+		int open = line.indexOf('{');
+		while (open != -1) {
+			int close = line.indexOf('}', open + 1);
+			if (close == -1) {
+				break;
+			}
+			parts.add(line.substring(start, open));
+			parts.add(line.substring(open + 1, close));
+			start = close + 1;
+			open = line.indexOf('{', start);
+		}
+		parts.add(line.substring(start));
+		return parts.toArray(new String[0]);
+	}
+
+}
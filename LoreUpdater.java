@@ -0,0 +1,152 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Keeps items with a LoreTemplate up to date in one inventory of one player<br>
+ * Set the slots with setSlot() and call update() whenever the values may have
+ * changed<br>
+ * Only slots whose rendered lore changed since the last update are set again
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class LoreUpdater {
+
+	private final Player player;
+	private final Inventory inventory;
+
+	/**
+	 * A HashMap for storing all updated slots, each slot number leads to its item,
+	 * template and last rendered lore
+	 */
+	private HashMap<Integer, Slot> slots = new HashMap<>();
+
+	/**
+	 * Create a new LoreUpdater for the own inventory of a player (hotbar, armor
+	 * ...)
+	 * 
+	 * @param player The player
+	 */
+	public LoreUpdater(Player player) {
+		this(player, player.getInventory());
+	}
+
+	/**
+	 * Create a new LoreUpdater for an inventory a player is looking at (menus ...)
+	 * 
+	 * @param player    The player whose values are used for the placeholders
+	 * @param inventory The inventory with the items
+	 */
+	public LoreUpdater(Player player, Inventory inventory) {
+		this.player = player;
+		this.inventory = inventory;
+	}
+
+	/**
+	 * Put an item with a LoreTemplate into a slot<br>
+	 * The item is rendered and set directly
+	 * 
+	 * @param slot The slot of the inventory
+	 * @param item The item without the lore, it is not changed
+	 * @param lore The LoreTemplate of the item
+	 */
+	public LoreUpdater setSlot(int slot, ItemStack item, LoreTemplate lore) {
+		Slot entry = new Slot(item.clone(), lore);
+		slots.put(slot, entry);
+		push(slot, entry, lore.render(player));
+		return this;
+	}
+
+	/**
+	 * Put an item with a LoreTemplate into a slot<br>
+	 * The item is rendered and set directly
+	 * 
+	 * @param slot     The slot of the inventory
+	 * @param template The ItemTemplate of the item without the lore
+	 * @param lore     The LoreTemplate of the item
+	 */
+	public LoreUpdater setSlot(int slot, ItemTemplate template, LoreTemplate lore) {
+		return setSlot(slot, template.getItem(), lore);
+	}
+
+	/**
+	 * Stop updating an array of slots<br>
+	 * The items stay in the inventory
+	 * 
+	 * @param slots The slots of the inventory
+	 */
+	public void removeSlots(int... slots) {
+		for (int slot : slots) {
+			this.slots.remove(slot);
+		}
+	}
+
+	/**
+	 * Stop updating all slots<br>
+	 * The items stay in the inventory
+	 */
+	public void clearSlots() {
+		slots.clear();
+	}
+
+	/**
+	 * Render the lore of all slots again and set the items whose lore changed
+	 * 
+	 * @return The number of slots which were set again
+	 */
+	public int update() {
+		int pushed = 0;
+		for (Map.Entry<Integer, Slot> entry : slots.entrySet()) {
+			Slot slot = entry.getValue();
+			List<String> lore = slot.lore.render(player);
+			if (!lore.equals(slot.rendered)) {
+				push(entry.getKey(), slot, lore);
+				pushed++;
+			}
+		}
+		return pushed;
+	}
+
+	/**
+	 * Set the item of a slot with the new rendered lore
+	 * 
+	 * @param slot  The slot of the inventory
+	 * @param entry The slot entry
+	 * @param lore  The new rendered lore
+	 */
+	private void push(int slot, Slot entry, List<String> lore) {
+		entry.rendered = lore;
+		inventory.setItem(slot, new ItemBuilder(entry.item.clone()).setLore(lore).getItem());
+	}
+
+	public Player getPlayer() {
+		return player;
+	}
+
+	public Inventory getInventory() {
+		return inventory;
+	}
+
+	/**
+	 * One updated slot with its item, template and last rendered lore
+	 */
+	private static class Slot {
+
+		private final ItemStack item;
+		private final LoreTemplate lore;
+		private List<String> rendered;
+
+		private Slot(ItemStack item, LoreTemplate lore) {
+			this.item = item;
+			this.lore = lore;
+		}
+
+	}
+
+}
@@ -0,0 +1,474 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import main.Main;
+
+/**
+ * A paged menu which is rendered once and shared by all viewers<br>
+ * Set the entries of the menu with setEntries(), open it with open() and call
+ * handleClick(), handleDrag() and handleClose() in your inventory listener<br>
+ * The last row of the menu holds the buttons for the previous and the next
+ * page<br>
+ * Only pages whose entries changed are rendered again and only the changed
+ * slots are set<br>
+ * Viewers with an overlay (setOverlay()) or who switched the page get their own
+ * copy of the page, all other viewers look at the same inventory<br>
+ * The first page switch of a viewer opens the copy once, every later switch
+ * only sets the changed slots in the open window
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class Menu {
+
+	private static ItemTemplate previousButton;
+	private static ItemTemplate nextButton;
+
+	private final String title;
+	private final int size;
+	private final int pageSize;
+	private final BiConsumer<Player, Integer> clickAction;
+
+	private List<ItemStack> entries = new ArrayList<>();
+
+	/**
+	 * All rendered pages, a page is null until it is opened the first time
+	 */
+	private ArrayList<Page> pages = new ArrayList<>();
+
+	/**
+	 * A HashMap for storing all viewers, each player UUID leads to the page and
+	 * overlay of the player
+	 */
+	private HashMap<UUID, Viewer> viewers = new HashMap<>();
+
+	/**
+	 * Create a new Menu
+	 * 
+	 * @param title       The title of the menu inventory
+	 * @param rows        The number of rows, 2-6 (2 and 6 included) <br>
+	 *                    The last row is used for the page buttons
+	 * @param clickAction Called with the player and the index of the entry if a
+	 *                    player clicks an entry
+	 */
+	public Menu(String title, int rows, BiConsumer<Player, Integer> clickAction) {
+		rows = rows < 2 ? 2 : rows > 6 ? 6 : rows;
+		this.title = title;
+		this.size = rows * 9;
+		this.pageSize = size - 9;
+		this.clickAction = clickAction;
+	}
+
+	// -------
+	// Entries
+	// -------
+
+	/**
+	 * Set all entries of the menu<br>
+	 * Only pages with changed entries are rendered again
+	 * 
+	 * @param entries The new entries, for example built with an ItemBuilder
+	 */
+	public void setEntries(List<ItemStack> entries) {
+		List<ItemStack> old = this.entries;
+		this.entries = new ArrayList<>(entries);
+		int oldCount = getPageCount(old.size());
+		int newCount = getPageCount();
+		for (int page = 0; page < Math.max(oldCount, newCount); page++) {
+			int from = page * pageSize;
+			int to = from + pageSize;
+			boolean buttonsChanged = oldCount != newCount && (page == oldCount - 1 || page == newCount - 1);
+			if (buttonsChanged || !subList(old, from, to).equals(subList(this.entries, from, to))) {
+				invalidate(page);
+			}
+		}
+		for (Viewer viewer : new ArrayList<>(viewers.values())) {
+			if (viewer.page >= newCount) {
+				open(viewer.player, newCount - 1);
+			}
+		}
+		while (pages.size() > newCount) {
+			pages.remove(pages.size() - 1);
+		}
+	}
+
+	/**
+	 * Set one entry of the menu<br>
+	 * Only the page of the entry is rendered again
+	 * 
+	 * @param index The index of the entry
+	 * @param entry The new entry
+	 */
+	public void setEntry(int index, ItemStack entry) {
+		if (index < 0 || index >= entries.size()) {
+			return;
+		}
+		if (!Objects.equals(entries.get(index), entry)) {
+			entries.set(index, entry);
+			invalidate(index / pageSize);
+		}
+	}
+
+	/**
+	 * Render a page again<br>
+	 * Players who look at the page see the changes directly
+	 * 
+	 * @param page The page number, starting with 0
+	 */
+	public void invalidate(int page) {
+		if (page >= pages.size() || pages.get(page) == null) {
+			return;
+		}
+		Page cached = pages.get(page);
+		ItemStack[] contents = render(page);
+		apply(cached.inventory, cached.contents, contents, null);
+		for (Viewer viewer : viewers.values()) {
+			if (viewer.page == page && viewer.inventory != cached.inventory) {
+				apply(viewer.inventory, cached.contents, contents, viewer.overlay);
+			}
+		}
+		cached.contents = contents;
+	}
+
+	// -------
+	// Viewers
+	// -------
+
+	/**
+	 * Open the first page of the menu for a player
+	 * 
+	 * @param player The player
+	 */
+	public void open(Player player) {
+		open(player, 0);
+	}
+
+	/**
+	 * Open a page of the menu for a player<br>
+	 * If the player already looks at an own copy of the menu only the changed
+	 * slots are set, a player who looks at a shared page gets an own copy<br>
+	 * A new inventory is opened one tick later, so it is safe to call it in a
+	 * click listener
+	 * 
+	 * @param player The player
+	 * @param page   The page number, starting with 0
+	 */
+	public void open(Player player, int page) {
+		page = page < 0 ? 0 : page >= getPageCount() ? getPageCount() - 1 : page;
+		Page target = getPage(page);
+		Viewer viewer = viewers.get(player.getUniqueId());
+		if (viewer != null && viewer.inventory != getPage(viewer.page).inventory) {
+			apply(viewer.inventory, getPage(viewer.page).contents, target.contents, viewer.overlay);
+			viewer.page = page;
+			return;
+		}
+		if (viewer != null) {
+			if (viewer.page != page) {
+				viewer.page = page;
+				viewer.inventory = Bukkit.createInventory(target.inventory.getHolder(), size, title);
+				viewer.inventory.setContents(target.contents);
+				openLater(viewer);
+			}
+			return;
+		}
+		viewer = new Viewer(player);
+		viewers.put(player.getUniqueId(), viewer);
+		viewer.page = page;
+		viewer.inventory = target.inventory;
+		openLater(viewer);
+	}
+
+	/**
+	 * Show another item in a slot only for one player<br>
+	 * The player gets an own copy of the page
+	 * 
+	 * @param player The player who looks at the menu
+	 * @param slot   The slot of the menu
+	 * @param item   The item only the player sees
+	 */
+	public void setOverlay(Player player, int slot, ItemStack item) {
+		Viewer viewer = viewers.get(player.getUniqueId());
+		if (viewer == null) {
+			return;
+		}
+		viewer.overlay.put(slot, item);
+		Page page = getPage(viewer.page);
+		if (viewer.inventory == page.inventory) {
+			viewer.inventory = Bukkit.createInventory(page.inventory.getHolder(), size, title);
+			viewer.inventory.setContents(page.contents);
+			viewer.overlay.forEach(viewer.inventory::setItem);
+			openLater(viewer);
+		} else {
+			viewer.inventory.setItem(slot, item);
+		}
+	}
+
+	/**
+	 * Remove all overlays of a player<br>
+	 * The slots show the shared page again
+	 * 
+	 * @param player The player who looks at the menu
+	 */
+	public void clearOverlay(Player player) {
+		Viewer viewer = viewers.get(player.getUniqueId());
+		if (viewer == null || viewer.overlay.isEmpty()) {
+			return;
+		}
+		ItemStack[] contents = getPage(viewer.page).contents;
+		for (int slot : viewer.overlay.keySet()) {
+			viewer.inventory.setItem(slot, contents[slot]);
+		}
+		viewer.overlay.clear();
+	}
+
+	/**
+	 * @return The number of pages, at least 1
+	 */
+	public int getPageCount() {
+		return getPageCount(entries.size());
+	}
+
+	// --------
+	// Listener
+	// --------
+
+	/**
+	 * Handle a click into a menu, use it in your InventoryClickEvent listener<br>
+	 * Clicks into menus are cancelled
+	 * 
+	 * @param event The event
+	 * @return true, if the click was into a menu
+	 */
+	public static boolean handleClick(InventoryClickEvent event) {
+		InventoryHolder holder = event.getInventory().getHolder();
+		if (!(holder instanceof Holder)) {
+			return false;
+		}
+		event.setCancelled(true);
+		Menu menu = ((Holder) holder).menu;
+		Player player = (Player) event.getWhoClicked();
+		Viewer viewer = menu.viewers.get(player.getUniqueId());
+		int slot = event.getRawSlot();
+		if (viewer == null || viewer.inventory != event.getInventory() || slot < 0 || slot >= menu.size) {
+			return true;
+		}
+		if (slot == menu.size - 9) {
+			if (viewer.page > 0) {
+				menu.open(player, viewer.page - 1);
+			}
+		} else if (slot == menu.size - 1) {
+			if (viewer.page < menu.getPageCount() - 1) {
+				menu.open(player, viewer.page + 1);
+			}
+		} else if (slot < menu.pageSize) {
+			int index = viewer.page * menu.pageSize + slot;
+			if (index < menu.entries.size()) {
+				menu.clickAction.accept(player, index);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Handle a drag into a menu, use it in your InventoryDragEvent listener<br>
+	 * Drags into the menu slots are cancelled, so no items get into the page all
+	 * viewers share
+	 * 
+	 * @param event The event
+	 * @return true, if the drag was cancelled
+	 */
+	public static boolean handleDrag(InventoryDragEvent event) {
+		if (!(event.getInventory().getHolder() instanceof Holder)) {
+			return false;
+		}
+		int size = event.getView().getTopInventory().getSize();
+		for (int slot : event.getRawSlots()) {
+			if (slot < size) {
+				event.setCancelled(true);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Handle a closed menu, use it in your InventoryCloseEvent listener
+	 * 
+	 * @param event The event
+	 */
+	public static void handleClose(InventoryCloseEvent event) {
+		InventoryHolder holder = event.getInventory().getHolder();
+		if (holder instanceof Holder) {
+			Menu menu = ((Holder) holder).menu;
+			Viewer viewer = menu.viewers.get(event.getPlayer().getUniqueId());
+			if (viewer != null && viewer.inventory == event.getInventory()) {
+				menu.viewers.remove(event.getPlayer().getUniqueId());
+			}
+		}
+	}
+
+	// ------------
+	// Help methods
+	// ------------
+
+	/**
+	 * Get a page, it is rendered if it was never opened before
+	 * 
+	 * @param page The page number
+	 * @return The page
+	 */
+	private Page getPage(int page) {
+		while (pages.size() <= page) {
+			pages.add(null);
+		}
+		Page cached = pages.get(page);
+		if (cached == null) {
+			cached = new Page();
+			cached.inventory = Bukkit.createInventory(new Holder(this), size, title);
+			cached.contents = render(page);
+			cached.inventory.setContents(cached.contents);
+			pages.set(page, cached);
+		}
+		return cached;
+	}
+
+	/**
+	 * Open the inventory of a viewer in the next tick<br>
+	 * Opening an inventory inside an inventory event can duplicate items, so it is
+	 * never done directly
+	 * 
+	 * @param viewer The viewer
+	 */
+	private void openLater(Viewer viewer) {
+		Inventory inventory = viewer.inventory;
+		Bukkit.getScheduler().runTask(Main.instance, () -> {
+			if (viewers.get(viewer.player.getUniqueId()) == viewer && viewer.inventory == inventory
+					&& viewer.player.isOnline()) {
+				viewer.player.openInventory(inventory);
+			}
+		});
+	}
+
+	/**
+	 * Create the contents of a page
+	 * 
+	 * @param page The page number
+	 * @return The contents of the page with the page buttons
+	 */
+	private ItemStack[] render(int page) {
+		ItemStack[] contents = new ItemStack[size];
+		int from = page * pageSize;
+		for (int slot = 0; slot < pageSize && from + slot < entries.size(); slot++) {
+			contents[slot] = entries.get(from + slot);
+		}
+		if (page > 0) {
+			contents[size - 9] = getPreviousButton().getItem();
+		}
+		if (page < getPageCount() - 1) {
+			contents[size - 1] = getNextButton().getItem();
+		}
+		return contents;
+	}
+
+	/**
+	 * Set only the slots of an inventory which are different in the new contents
+	 * 
+	 * @param inventory The inventory
+	 * @param from      The old contents
+	 * @param to        The new contents
+	 * @param overlay   The overlay slots which are not changed, can be null
+	 */
+	private static void apply(Inventory inventory, ItemStack[] from, ItemStack[] to,
+			Map<Integer, ItemStack> overlay) {
+		for (int slot = 0; slot < to.length; slot++) {
+			if (from[slot] != to[slot] && !Objects.equals(from[slot], to[slot])
+					&& (overlay == null || !overlay.containsKey(slot))) {
+				inventory.setItem(slot, to[slot]);
+			}
+		}
+	}
+
+	private int getPageCount(int entryCount) {
+		return Math.max(1, (entryCount + pageSize - 1) / pageSize);
+	}
+
+	private static List<ItemStack> subList(List<ItemStack> list, int from, int to) {
+		from = Math.min(from, list.size());
+		return list.subList(from, Math.max(from, Math.min(to, list.size())));
+	}
+
+	private static ItemTemplate getPreviousButton() {
+		if (previousButton == null) {
+			previousButton = new ItemBuilder(Material.ARROW).setName("§ePrevious page").toTemplate();
+		}
+		return previousButton;
+	}
+
+	private static ItemTemplate getNextButton() {
+		if (nextButton == null) {
+			nextButton = new ItemBuilder(Material.ARROW).setName("§eNext page").toTemplate();
+		}
+		return nextButton;
+	}
+
+	/**
+	 * The InventoryHolder of all menu inventories, so clicks can be found
+	 */
+	private static class Holder implements InventoryHolder {
+
+		private final Menu menu;
+
+		private Holder(Menu menu) {
+			this.menu = menu;
+		}
+
+		@Override
+		public Inventory getInventory() {
+			return null;
+		}
+
+	}
+
+	/**
+	 * One rendered page
+	 */
+	private static class Page {
+
+		private Inventory inventory;
+		private ItemStack[] contents;
+
+	}
+
+	/**
+	 * One player who looks at the menu
+	 */
+	private static class Viewer {
+
+		private final Player player;
+		private int page;
+		private Inventory inventory;
+		private HashMap<Integer, ItemStack> overlay = new HashMap<>();
+
+		private Viewer(Player player) {
+			this.player = player;
+		}
+
+	}
+
+}
@@ -1,9 +1,17 @@
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.Criteria;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
@@ -11,45 +19,76 @@ import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.ScoreboardManager;
 import org.bukkit.scoreboard.Team;
 
+import main.Main;
+
 public class Scoreboards {
 
-	private static HashMap<String, Scoreboards> boards = new HashMap<>();
+	private static ConcurrentHashMap<String, Scoreboards> boards = new ConcurrentHashMap<>();
+	private static HashMap<UUID, Scoreboards> playerBoards = new HashMap<>();
 	private static ScoreboardManager manager = Bukkit.getScoreboardManager();
 
+	private static boolean buffered = false;
+	private static LinkedHashSet<Scoreboards> dirtyBoards = new LinkedHashSet<>();
+	private static BukkitTask flushTask;
+	private static long appliedUpdates = 0;
+	private static long savedUpdates = 0;
+
+	private static ArrayDeque<Scoreboard> pool = new ArrayDeque<>();
+	private static int poolCap = 64;
+	private static int liveScoreboards = 0;
+	private static long poolHits = 0;
+	private static long poolMisses = 0;
+
+	private static LongAdder misses = new LongAdder();
+
 	private Scoreboard board;
-	private int teamCount;
+	private EntryPool entries = new EntryPool();
+	private HashMap<String, String> pendingTeams = new HashMap<>();
+	private HashMap<UUID, Player> viewers = new HashMap<>();
 
 	private Scoreboards() {
 
 	}
 
 	private Scoreboards(String name, String title) {
-		board = manager.getNewScoreboard();
+		board = acquireScoreboard();
 		Objective objective = board.registerNewObjective(name, Criteria.DUMMY, title);
 		objective.setDisplayName(title);
 		objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-		teamCount = 0;
 	}
 
 	public static Scoreboards createBoard(String name, String title) {
+		Scoreboards old = boards.remove(name);
+		if (old != null) {
+			old.delete();
+		}
 		Scoreboards board = new Scoreboards(name, title);
 		boards.put(name, board);
 		return board;
 	}
 
 	public static Scoreboards getBoard(String name) {
-		if (!boards.containsKey(name)) {
-			Bukkit.broadcastMessage("§4No Scoreboard named §6" + name + " §4found");
+		Scoreboards board = boards.get(name);
+		if (board == null) {
+			misses.increment();
+			if (Main.instance.getLogger().isLoggable(Level.FINE)) {
+				Main.instance.getLogger().log(Level.FINE, "No Scoreboard named " + name + " found");
+			}
 		}
-		return boards.get(name);
+		return board;
+	}
+
+	public static long getMisses() {
+		return misses.sum();
 	}
 
 	public static void addToPlayers(String name, List<Player> players) {
+		Scoreboards board = getBoard(name);
+		if (board == null) {
+			return;
+		}
 		for (Player player : players) {
-			Scoreboards board = getBoard(name);
-			if (board != null) {
-				player.setScoreboard(board.board);
-			}
+			board.show(player);
 		}
 	}
 
@@ -57,17 +96,28 @@ public class Scoreboards {
 		addToPlayers(name, Arrays.asList(players));
 	}
 
+	public static void addToPlayers(String name, Audience audience) {
+		Scoreboards board = getBoard(name);
+		if (board == null) {
+			return;
+		}
+		for (int i = 0; i < audience.size(); i++) {
+			board.show(audience.get(i));
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	public static void addToAll(String name) {
 		addToPlayers(name, (List<Player>) Bukkit.getOnlinePlayers());
 	}
 
 	public static void removeFromPlayers(String name, List<Player> players) {
+		Scoreboards board = getBoard(name);
+		if (board == null) {
+			return;
+		}
 		for (Player player : players) {
-			Scoreboards board = getBoard(name);
-			if (board != null && player.getScoreboard().equals(board.board)) {
-				player.setScoreboard(manager.getMainScoreboard());
-			}
+			board.hide(player);
 		}
 	}
 
@@ -75,13 +125,29 @@ public class Scoreboards {
 		removeFromPlayers(name, Arrays.asList(players));
 	}
 
-	@SuppressWarnings("unchecked")
+	public static void removeFromPlayers(String name, Audience audience) {
+		Scoreboards board = getBoard(name);
+		if (board == null) {
+			return;
+		}
+		for (int i = 0; i < audience.size(); i++) {
+			board.hide(audience.get(i));
+		}
+	}
+
 	public static void removeFromAll(String name) {
-		removeFromPlayers(name, (List<Player>) Bukkit.getOnlinePlayers());
+		Scoreboards board = getBoard(name);
+		if (board != null) {
+			board.hideAll();
+		}
 	}
 
 	public static void removeFromPlayers(List<Player> players) {
 		for (Player player : players) {
+			Scoreboards board = playerBoards.remove(player.getUniqueId());
+			if (board != null) {
+				board.viewers.remove(player.getUniqueId());
+			}
 			player.setScoreboard(manager.getMainScoreboard());
 		}
 	}
@@ -97,26 +163,135 @@ public class Scoreboards {
 
 	public static void deleteBoards(String... names) {
 		for (String name : names) {
-			removeFromAll(name);
-			boards.remove(name);
+			Scoreboards board = getBoard(name);
+			if (board != null) {
+				boards.remove(name);
+				board.delete();
+			}
 		}
 	}
 
 	public static void clearBoards() {
-		for (String boardName : boards.keySet()) {
-			removeFromAll(boardName);
+		for (Scoreboards board : boards.values()) {
+			board.delete();
 		}
 		boards.clear();
 	}
 
+	public static void quit(Player player) {
+		Scoreboards board = playerBoards.remove(player.getUniqueId());
+		if (board != null) {
+			board.viewers.remove(player.getUniqueId());
+		}
+	}
+
+	public static Scoreboards getBoard(Player player) {
+		return playerBoards.get(player.getUniqueId());
+	}
+
 	public static void updateTeam(String boardName, String teamName, String text) {
 		Scoreboards board = getBoard(boardName);
 		if (board != null) {
-			Team team = board.board.getTeam(teamName);
-			if (team != null) {
-				team.setPrefix(text);
+			board.updateTeam(teamName, text);
+		}
+	}
+
+	// ----------------
+	// Scoreboard pool
+	// ----------------
+
+	public static Scoreboard acquireScoreboard() {
+		Scoreboard scoreboard = pool.poll();
+		if (scoreboard != null) {
+			poolHits++;
+		} else {
+			poolMisses++;
+			scoreboard = manager.getNewScoreboard();
+		}
+		liveScoreboards++;
+		return scoreboard;
+	}
+
+	public static void releaseScoreboard(Scoreboard scoreboard) {
+		liveScoreboards--;
+		if (pool.size() >= poolCap) {
+			return;
+		}
+		for (String entry : scoreboard.getEntries()) {
+			scoreboard.resetScores(entry);
+		}
+		for (Objective objective : scoreboard.getObjectives()) {
+			objective.unregister();
+		}
+		for (Team team : scoreboard.getTeams()) {
+			team.unregister();
+		}
+		pool.push(scoreboard);
+	}
+
+	public static void setPoolCap(int cap) {
+		poolCap = cap < 0 ? 0 : cap;
+		while (pool.size() > poolCap) {
+			pool.pop();
+		}
+	}
+
+	public static int getPooledScoreboards() {
+		return pool.size();
+	}
+
+	public static int getLiveScoreboards() {
+		return liveScoreboards;
+	}
+
+	public static long getPoolHits() {
+		return poolHits;
+	}
+
+	public static long getPoolMisses() {
+		return poolMisses;
+	}
+
+	// ----------------
+	// Buffered updates
+	// ----------------
+
+	public static void setBuffered(boolean buffered) {
+		if (!buffered) {
+			flushUpdates();
+		}
+		Scoreboards.buffered = buffered;
+	}
+
+	public static boolean isBuffered() {
+		return buffered;
+	}
+
+	public static void flushUpdates() {
+		if (flushTask != null) {
+			flushTask.cancel();
+			flushTask = null;
+		}
+		for (Scoreboards board : dirtyBoards) {
+			for (Map.Entry<String, String> update : board.pendingTeams.entrySet()) {
+				board.applyTeam(update.getKey(), update.getValue());
 			}
+			board.pendingTeams.clear();
 		}
+		dirtyBoards.clear();
+	}
+
+	public static long getAppliedUpdates() {
+		return appliedUpdates;
+	}
+
+	public static long getSavedUpdates() {
+		return savedUpdates;
+	}
+
+	public static void resetUpdateCounters() {
+		appliedUpdates = 0;
+		savedUpdates = 0;
 	}
 
 	// ------------------
@@ -124,6 +299,9 @@ public class Scoreboards {
 	// ------------------
 
 	public Scoreboards addScore(String text, int slot) {
+		if (board == null) {
+			return this;
+		}
 		board.getObjective(DisplaySlot.SIDEBAR).getScore(text).setScore(slot);
 		return this;
 	}
@@ -139,16 +317,131 @@ public class Scoreboards {
 		return addScores(texts, 0);
 	}
 
+	public Scoreboards updateTeam(String teamName, String text) {
+		if (board == null) {
+			return this;
+		}
+		if (!buffered) {
+			applyTeam(teamName, text);
+			return this;
+		}
+		if (pendingTeams.put(teamName, text) != null) {
+			savedUpdates++;
+		}
+		dirtyBoards.add(this);
+		if (flushTask == null) {
+			flushTask = Bukkit.getScheduler().runTask(Main.instance, Scoreboards::flushUpdates);
+		}
+		return this;
+	}
+
+	public int getViewerCount() {
+		return viewers.size();
+	}
+
+	public boolean isDeleted() {
+		return board == null;
+	}
+
+	public Scoreboard getScoreboard() {
+		return board;
+	}
+
+	private void show(Player player) {
+		Scoreboards old = playerBoards.put(player.getUniqueId(), this);
+		if (old != null && old != this) {
+			old.viewers.remove(player.getUniqueId());
+		}
+		viewers.put(player.getUniqueId(), player);
+		player.setScoreboard(board);
+	}
+
+	private void hide(Player player) {
+		if (viewers.remove(player.getUniqueId()) == null) {
+			return;
+		}
+		playerBoards.remove(player.getUniqueId());
+		if (player.getScoreboard().equals(board)) {
+			player.setScoreboard(manager.getMainScoreboard());
+		}
+	}
+
+	private void delete() {
+		if (board == null) {
+			return;
+		}
+		hideAll();
+		dirtyBoards.remove(this);
+		pendingTeams.clear();
+		entries.clear();
+		releaseScoreboard(board);
+		board = null;
+	}
+
+	private void hideAll() {
+		for (Player player : viewers.values()) {
+			playerBoards.remove(player.getUniqueId());
+			if (player.isOnline() && player.getScoreboard().equals(board)) {
+				player.setScoreboard(manager.getMainScoreboard());
+			}
+		}
+		viewers.clear();
+	}
+
+	private void applyTeam(String teamName, String text) {
+		Team team = board.getTeam(teamName);
+		if (team == null) {
+			return;
+		}
+		if (text.equals(team.getPrefix())) {
+			savedUpdates++;
+			return;
+		}
+		team.setPrefix(text);
+		appliedUpdates++;
+	}
+
 	public Scoreboards addTeam(String teamName, String text, int slot) {
+		if (board == null) {
+			return this;
+		}
 		Team team = board.registerNewTeam(teamName);
-		String teamText = "";
-		for (int i = 0; i < teamCount; i++) {
-			teamText += "§r";
+		String entry = entries.allocate();
+		if (entry == null) {
+			team.unregister();
+			Main.instance.getLogger().warning("No free entry for team " + teamName + ", a board has only "
+					+ EntryPool.SIZE + " entries");
+			return this;
 		}
-		team.addEntry(teamText);
+		team.addEntry(entry);
 		team.setPrefix(text);
-		teamCount++;
-		return addScore(teamText, slot);
+		return addScore(entry, slot);
+	}
+
+	public Scoreboards removeTeam(String teamName) {
+		if (board == null) {
+			return this;
+		}
+		Team team = board.getTeam(teamName);
+		if (team != null) {
+			for (String entry : team.getEntries()) {
+				board.resetScores(entry);
+				entries.free(entry);
+			}
+			team.unregister();
+			pendingTeams.remove(teamName);
+		}
+		return this;
+	}
+
+	public Scoreboards clearTeams() {
+		if (board == null) {
+			return this;
+		}
+		for (Team team : board.getTeams()) {
+			removeTeam(team.getName());
+		}
+		return this;
 	}
 
 }
@@ -0,0 +1,237 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+/**
+ * A sidebar for one player with up to 15 fixed lines<br>
+ * Each line is a team with an invisible entry, the text of a line is the prefix
+ * of its team<br>
+ * The sidebar remembers the last text of each line and only changes the lines
+ * whose text changed, so the lines don´t flicker and a sidebar with one timer
+ * line costs one update per tick
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class Sidebar {
+
+	public static final int MAX_LINES = 15;
+
+	/**
+	 * A HashMap for storing all sidebars, each player UUID leads to the sidebar of
+	 * the player
+	 */
+	private static HashMap<UUID, Sidebar> sidebars = new HashMap<>();
+
+	private final Player player;
+	private Scoreboard board;
+	private Objective objective;
+	private String title;
+	private Team[] teams = new Team[MAX_LINES];
+	private String[] lines = new String[MAX_LINES];
+
+	private Sidebar(Player player, String title) {
+		this.player = player;
+		this.title = title;
+		board = Scoreboards.acquireScoreboard();
+		objective = board.registerNewObjective("sidebar", Criteria.DUMMY, title);
+		objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+		player.setScoreboard(board);
+	}
+
+	// --------
+	// Sidebars
+	// --------
+
+	/**
+	 * Create a new sidebar for a player and show it<br>
+	 * An already existing sidebar of the player is replaced
+	 * 
+	 * @param player The player
+	 * @param title  The title of the sidebar
+	 * @return The new sidebar
+	 */
+	public static Sidebar create(Player player, String title) {
+		remove(player);
+		Sidebar sidebar = new Sidebar(player, title);
+		sidebars.put(player.getUniqueId(), sidebar);
+		return sidebar;
+	}
+
+	/**
+	 * Get the sidebar of a player
+	 * 
+	 * @param player The player
+	 * @return The sidebar, if the player has one <br>
+	 *         null, if the player has no sidebar
+	 */
+	public static Sidebar get(Player player) {
+		return sidebars.get(player.getUniqueId());
+	}
+
+	/**
+	 * Remove the sidebar of a player<br>
+	 * Use it when the player quits
+	 * 
+	 * @param player The player
+	 */
+	public static void remove(Player player) {
+		Sidebar sidebar = sidebars.remove(player.getUniqueId());
+		if (sidebar != null) {
+			sidebar.release();
+		}
+	}
+
+	/**
+	 * Remove the sidebars of all players
+	 */
+	public static void clearSidebars() {
+		for (Sidebar sidebar : sidebars.values()) {
+			sidebar.release();
+		}
+		sidebars.clear();
+	}
+
+	// -----
+	// Lines
+	// -----
+
+	/**
+	 * Change the title of the sidebar, if it is different
+	 * 
+	 * @param title The new title
+	 * @return true, if the title was changed
+	 */
+	public boolean setTitle(String title) {
+		if (board == null || title.equals(this.title)) {
+			return false;
+		}
+		this.title = title;
+		objective.setDisplayName(title);
+		return true;
+	}
+
+	/**
+	 * Change the text of a line, if it is different
+	 * 
+	 * @param line The line, 0-14 (0 and 14 included), 0 is the top line
+	 * @param text The new text, null removes the line
+	 * @return true, if the line was changed <br>
+	 *         false, if the sidebar was removed
+	 */
+	public boolean setLine(int line, String text) {
+		if (board == null || line < 0 || line >= MAX_LINES) {
+			return false;
+		}
+		if (text == null) {
+			return removeLine(line);
+		}
+		if (text.equals(lines[line])) {
+			return false;
+		}
+		if (teams[line] == null) {
+			String entry = getEntry(line);
+			teams[line] = board.registerNewTeam("line" + line);
+			teams[line].addEntry(entry);
+			objective.getScore(entry).setScore(MAX_LINES - line);
+		}
+		teams[line].setPrefix(text);
+		lines[line] = text;
+		return true;
+	}
+
+	/**
+	 * Change the texts of all lines, if they are different<br>
+	 * Lines after the last text are removed
+	 * 
+	 * @param texts The new texts, the first one is the top line
+	 * @return The number of changed lines
+	 */
+	public int setLines(String... texts) {
+		int changed = 0;
+		for (int line = 0; line < MAX_LINES; line++) {
+			if (line < texts.length ? setLine(line, texts[line]) : removeLine(line)) {
+				changed++;
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Remove a line
+	 * 
+	 * @param line The line, 0-14 (0 and 14 included)
+	 * @return true, if the line existed
+	 */
+	public boolean removeLine(int line) {
+		if (board == null || line < 0 || line >= MAX_LINES || teams[line] == null) {
+			return false;
+		}
+		board.resetScores(getEntry(line));
+		teams[line].unregister();
+		teams[line] = null;
+		lines[line] = null;
+		return true;
+	}
+
+	/**
+	 * Get the last text of a line
+	 * 
+	 * @param line The line, 0-14 (0 and 14 included)
+	 * @return The text of the line, null if the line doesn´t exist
+	 */
+	public String getLine(int line) {
+		return line < 0 || line >= MAX_LINES ? null : lines[line];
+	}
+
+	public Player getPlayer() {
+		return player;
+	}
+
+	/**
+	 * @return true, if the sidebar was removed, then changing it does nothing
+	 */
+	public boolean isRemoved() {
+		return board == null;
+	}
+
+	/**
+	 * Hide the sidebar and give its Scoreboard back to the pool of Scoreboards<br>
+	 * The sidebar forgets the Scoreboard, so it can´t change the Scoreboard after
+	 * it is used again
+	 */
+	private void release() {
+		if (board == null) {
+			return;
+		}
+		if (player.getScoreboard().equals(board)) {
+			player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+		}
+		Scoreboards.releaseScoreboard(board);
+		board = null;
+		objective = null;
+		Arrays.fill(teams, null);
+		Arrays.fill(lines, null);
+	}
+
+	/**
+	 * Get the invisible entry of a line, each line has an own entry of the
+	 * EntryPool
+	 * 
+	 * @param line The line
+	 * @return The entry of the line
+	 */
+	private static String getEntry(int line) {
+		return EntryPool.getEntry(line);
+	}
+
+}
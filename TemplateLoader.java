@@ -0,0 +1,325 @@
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.Color;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+
+import main.Main;
+
+/**
+ * Load item templates from all .yml files of a folder at plugin start<br>
+ * The files are parsed and checked in parallel, the ItemStacks are only created
+ * the first time a template is used (see ItemTemplate.registerLazy())<br>
+ * Each file is parsed by one task, so many small files spread better over the
+ * pool than one big file<br>
+ * Each top level key of a file is the key of one template:
+ * 
+ * <pre>
+ * sword:
+ *   type: DIAMOND_SWORD
+ *   amount: 1
+ *   name: "§bSword"
+ *   lore: ["§7A sharp sword"]
+ *   enchants: {sharpness: 2}
+ *   flags: [HIDE_ENCHANTS]
+ *   damage: 10
+ *   unbreakable: true
+ *   color: "255,0,0"
+ * </pre>
+ * 
+ * Only type is needed, all other attributes are optional
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class TemplateLoader {
+
+	private TemplateLoader() {
+
+	}
+
+	/**
+	 * Load all templates from the .yml files of a folder on the common ForkJoinPool
+	 * and log the timing report
+	 * 
+	 * @param folder The folder with the template files
+	 * @return The timing report
+	 */
+	public static Report load(File folder) {
+		return load(folder, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Load all templates from the .yml files of a folder and log the timing
+	 * report<br>
+	 * This method waits until all files are parsed, the templates are registered
+	 * on the calling thread, so call it on the main thread
+	 * 
+	 * @param folder The folder with the template files
+	 * @param pool   The pool which parses the files
+	 * @return The timing report
+	 */
+	public static Report load(File folder, ForkJoinPool pool) {
+		Report report = new Report();
+		long start = System.nanoTime();
+
+		File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
+		files = files == null ? new File[0] : files;
+		report.files = files.length;
+		long listed = System.nanoTime();
+		report.listNanos = listed - start;
+
+		List<Callable<List<Definition>>> tasks = new ArrayList<>();
+		for (File file : files) {
+			tasks.add(() -> parseFile(file, report));
+		}
+		List<Definition> definitions = new ArrayList<>();
+		for (Future<List<Definition>> future : pool.invokeAll(tasks)) {
+			try {
+				definitions.addAll(future.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				report.errors.incrementAndGet();
+				Main.instance.getLogger().warning("Could not load templates: " + e.getCause());
+			}
+		}
+		long parsed = System.nanoTime();
+		report.parseNanos = parsed - listed;
+
+		for (Definition definition : definitions) {
+			ItemTemplate.registerLazyTemplate(definition.key, () -> {
+				long materialize = System.nanoTime();
+				ItemTemplate template = new ItemTemplate(definition.toBuilder());
+				report.materialized.incrementAndGet();
+				report.materializeNanos.addAndGet(System.nanoTime() - materialize);
+				return template;
+			});
+		}
+		report.templates = definitions.size();
+		report.registerNanos = System.nanoTime() - parsed;
+
+		Main.instance.getLogger().info(report.toString());
+		return report;
+	}
+
+	// ------------
+	// Help methods
+	// ------------
+
+	/**
+	 * Parse and check all templates of one file, runs on the pool
+	 * 
+	 * @param file   The file
+	 * @param report The report for the parse time and the errors
+	 * @return The checked templates of the file
+	 */
+	private static List<Definition> parseFile(File file, Report report) {
+		long start = System.nanoTime();
+		long cpuStart = getCpuTime();
+		YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+		List<Definition> definitions = new ArrayList<>();
+		for (String key : config.getKeys(false)) {
+			ConfigurationSection section = config.getConfigurationSection(key);
+			try {
+				if (section == null) {
+					throw new IllegalArgumentException("no section");
+				}
+				definitions.add(parse(key, section));
+			} catch (IllegalArgumentException e) {
+				report.errors.incrementAndGet();
+				Main.instance.getLogger().warning("Invalid template " + key + " in " + file.getName() + ": "
+						+ e.getMessage());
+			}
+		}
+		report.parseTaskNanos.addAndGet(System.nanoTime() - start);
+		long cpuEnd = getCpuTime();
+		if (cpuStart < 0 || cpuEnd < 0) {
+			report.cpuMeasured = false;
+		} else {
+			report.parseCpuNanos.addAndGet(cpuEnd - cpuStart);
+		}
+		return definitions;
+	}
+
+	/**
+	 * @return The CPU time of the current thread in nanoseconds <br>
+	 *         -1, if the JVM can´t measure it
+	 */
+	private static long getCpuTime() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+	}
+
+	/**
+	 * Parse and check one template
+	 * 
+	 * @param key     The key of the template
+	 * @param section The section of the template
+	 * @return The checked template
+	 * @throws IllegalArgumentException If an attribute is invalid
+	 */
+	private static Definition parse(String key, ConfigurationSection section) {
+		Definition definition = new Definition(key);
+		definition.type = Material.matchMaterial(section.getString("type", ""));
+		if (definition.type == null) {
+			throw new IllegalArgumentException("unknown type " + section.getString("type"));
+		}
+		definition.amount = section.getInt("amount", 1);
+		definition.name = section.getString("name");
+		definition.lore = section.getStringList("lore");
+		ConfigurationSection enchants = section.getConfigurationSection("enchants");
+		if (enchants != null) {
+			for (Map.Entry<String, Object> entry : enchants.getValues(false).entrySet()) {
+				Enchantment enchant = Enchantment.getByKey(NamespacedKey.minecraft(entry.getKey().toLowerCase()));
+				if (enchant == null) {
+					throw new IllegalArgumentException("unknown enchant " + entry.getKey());
+				}
+				definition.enchants.add(enchant);
+				definition.levels.add(entry.getValue() instanceof Number ? ((Number) entry.getValue()).intValue() : 1);
+			}
+		}
+		for (String flag : section.getStringList("flags")) {
+			definition.flags.add(ItemFlag.valueOf(flag.toUpperCase()));
+		}
+		definition.damage = section.getInt("damage", 0);
+		definition.unbreakable = section.getBoolean("unbreakable", false);
+		String color = section.getString("color");
+		if (color != null) {
+			String[] rgb = color.split(",");
+			if (rgb.length != 3) {
+				throw new IllegalArgumentException("invalid color " + color);
+			}
+			definition.color = Color.fromRGB(Integer.parseInt(rgb[0].trim()), Integer.parseInt(rgb[1].trim()),
+					Integer.parseInt(rgb[2].trim()));
+		}
+		return definition;
+	}
+
+	/**
+	 * One parsed and checked template, it doesn´t touch any ItemStack
+	 */
+	private static class Definition {
+
+		private final String key;
+		private Material type;
+		private int amount;
+		private String name;
+		private List<String> lore;
+		private List<Enchantment> enchants = new ArrayList<>();
+		private List<Integer> levels = new ArrayList<>();
+		private List<ItemFlag> flags = new ArrayList<>();
+		private int damage;
+		private boolean unbreakable;
+		private Color color;
+
+		private Definition(String key) {
+			this.key = key;
+		}
+
+		/**
+		 * @return A new ItemBuilder with all attributes of the template
+		 */
+		private ItemBuilder toBuilder() {
+			ItemBuilder builder = new ItemBuilder(type, amount).setDeferred(true);
+			if (name != null) {
+				builder.setName(name);
+			}
+			if (!lore.isEmpty()) {
+				builder.setLore(lore);
+			}
+			for (int i = 0; i < enchants.size(); i++) {
+				builder.addEnchant(enchants.get(i), levels.get(i));
+			}
+			builder.addItemFlags(flags.toArray(new ItemFlag[0]));
+			if (damage != 0) {
+				builder.setDamage(damage);
+			}
+			if (color != null) {
+				builder.setLeatherColor(color);
+			}
+			return builder.setUnbreakable(unbreakable);
+		}
+
+	}
+
+	/**
+	 * The timing report of one load() call<br>
+	 * The materialize values grow while the templates are used the first time
+	 */
+	public static class Report {
+
+		private int files;
+		private int templates;
+		private AtomicInteger errors = new AtomicInteger();
+		private long listNanos;
+		private long parseNanos;
+		private AtomicLong parseTaskNanos = new AtomicLong();
+		private AtomicLong parseCpuNanos = new AtomicLong();
+		private volatile boolean cpuMeasured = true;
+		private long registerNanos;
+		private AtomicInteger materialized = new AtomicInteger();
+		private AtomicLong materializeNanos = new AtomicLong();
+
+		public int getFiles() {
+			return files;
+		}
+
+		public int getTemplates() {
+			return templates;
+		}
+
+		public int getErrors() {
+			return errors.get();
+		}
+
+		public int getMaterialized() {
+			return materialized.get();
+		}
+
+		/**
+		 * @return The time the main thread waited for the whole load() call in
+		 *         milliseconds
+		 */
+		public double getTotalMillis() {
+			return (listNanos + parseNanos + registerNanos) / 1e6;
+		}
+
+		/**
+		 * @return The CPU time of all parse tasks together in milliseconds <br>
+		 *         -1, if the JVM can´t measure the CPU time
+		 */
+		public double getParseCpuMillis() {
+			return cpuMeasured ? parseCpuNanos.get() / 1e6 : -1;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(
+					"Loaded %d templates from %d files in %.1f ms (list %.1f ms, parse %.1f ms wall / %.1f ms summed "
+							+ "task time / %s cpu, register %.1f ms), %d errors, %d materialized in %.1f ms",
+					templates, files, getTotalMillis(), listNanos / 1e6, parseNanos / 1e6,
+					parseTaskNanos.get() / 1e6,
+					cpuMeasured ? String.format("%.1f ms", parseCpuNanos.get() / 1e6) : "no",
+					registerNanos / 1e6, errors.get(), materialized.get(), materializeNanos.get() / 1e6);
+		}
+
+	}
+
+}
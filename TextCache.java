@@ -0,0 +1,173 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+
+/**
+ * A cache for texts with § color codes and their parsed components<br>
+ * Texts which are sent again and again (action bars, HUD texts ...) are only
+ * parsed once<br>
+ * The cache holds a maximum number of texts, if it is full the longest unused
+ * texts are removed<br>
+ * It can be used from any thread, so action bars can still be sent from async
+ * tasks<br>
+ * Never change the returned components, they are shared by all senders
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class TextCache {
+
+	private static volatile int maxSize = 512;
+
+	/**
+	 * A ConcurrentHashMap for storing all parsed texts, each text leads to its
+	 * components and its last use
+	 */
+	private static ConcurrentHashMap<String, Cached> components = new ConcurrentHashMap<>();
+
+	private static AtomicLong clock = new AtomicLong();
+	private static AtomicBoolean evicting = new AtomicBoolean(false);
+
+	private static LongAdder hits = new LongAdder();
+	private static LongAdder misses = new LongAdder();
+	private static LongAdder evictions = new LongAdder();
+
+	private TextCache() {
+
+	}
+
+	/**
+	 * Get the parsed components of a text
+	 * 
+	 * @param text The text with § color codes
+	 * @return The components of the text, don´t change them
+	 */
+	public static BaseComponent[] get(String text) {
+		Cached cached = components.get(text);
+		if (cached != null) {
+			hits.increment();
+			cached.lastUse = clock.incrementAndGet();
+			return cached.components;
+		}
+		misses.increment();
+		BaseComponent[] parsed = TextComponent.fromLegacyText(text);
+		components.put(text, new Cached(parsed, clock.incrementAndGet()));
+		if (components.size() > maxSize) {
+			evict();
+		}
+		return parsed;
+	}
+
+	/**
+	 * Set the maximum number of cached texts<br>
+	 * If more texts are cached, the longest unused texts are removed
+	 * 
+	 * @param maxSize The maximum number of texts, at least 1
+	 */
+	public static void setMaxSize(int maxSize) {
+		TextCache.maxSize = maxSize < 1 ? 1 : maxSize;
+		if (components.size() > TextCache.maxSize) {
+			evict();
+		}
+	}
+
+	/**
+	 * Remove all cached texts
+	 */
+	public static void clear() {
+		components.clear();
+	}
+
+	public static int getSize() {
+		return components.size();
+	}
+
+	public static long getHits() {
+		return hits.sum();
+	}
+
+	public static long getMisses() {
+		return misses.sum();
+	}
+
+	public static long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return The part of all get() calls which were found in the cache, 0-1
+	 */
+	public static double getHitRate() {
+		long hits = getHits();
+		long total = hits + getMisses();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * Set the hit, miss and eviction counters to 0
+	 */
+	public static void resetCounters() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	/**
+	 * Remove the longest unused texts until the cache is an eighth below its
+	 * maximum size, so a full cache isn´t sorted on every new text<br>
+	 * Only one thread removes at a time, the others go on without waiting
+	 */
+	private static void evict() {
+		if (!evicting.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			int keep = maxSize - maxSize / 8;
+			List<Map.Entry<String, Cached>> entries = new ArrayList<>(components.entrySet());
+			int remove = entries.size() - keep;
+			if (remove <= 0) {
+				return;
+			}
+			long[] uses = new long[entries.size()];
+			for (int i = 0; i < uses.length; i++) {
+				uses[i] = entries.get(i).getValue().lastUse;
+			}
+			Arrays.sort(uses);
+			long oldest = uses[remove - 1];
+			for (Map.Entry<String, Cached> entry : entries) {
+				if (remove > 0 && entry.getValue().lastUse <= oldest
+						&& components.remove(entry.getKey(), entry.getValue())) {
+					evictions.increment();
+					remove--;
+				}
+			}
+		} finally {
+			evicting.set(false);
+		}
+	}
+
+	/**
+	 * The components of one text with the time of its last use
+	 */
+	private static class Cached {
+
+		private final BaseComponent[] components;
+		private volatile long lastUse;
+
+		private Cached(BaseComponent[] components, long lastUse) {
+			this.components = components;
+			this.lastUse = lastUse;
+		}
+
+	}
+
+}
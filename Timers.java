@@ -0,0 +1,289 @@
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import main.Main;
+
+/**
+ * One timer engine for all countdowns and delayed actions of all arenas<br>
+ * All timers are kept in a timer wheel which is turned by one task every
+ * tick<br>
+ * Each tick only the timers of one wheel slot are checked, so thousands of
+ * timers cost the same per tick as a few<br>
+ * Use the callbacks to update titles, BossBars and Scoreboards, for example:
+ * 
+ * <pre>
+ * Timers.countdown(10, seconds -> Bossbar.setProgress(id, seconds * 10), () -> startGame());
+ * </pre>
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class Timers {
+
+	private static final int WHEEL_SIZE = 512;
+	private static final int MASK = WHEEL_SIZE - 1;
+
+	/**
+	 * The wheel, each slot is a linked list of timers
+	 */
+	private static Timer[] wheel = new Timer[WHEEL_SIZE];
+
+	private static long tick = 0;
+	private static int count = 0;
+	private static BukkitTask task;
+
+	/**
+	 * The timer which is run now and the rest of the slot which is walked in
+	 * tick(), they are not in the wheel while the slot is walked
+	 */
+	private static Timer current;
+	private static Timer running;
+	private static boolean ticking = false;
+
+	private Timers() {
+
+	}
+
+	// ---------------
+	// Schedule timers
+	// ---------------
+
+	/**
+	 * Run an action once after a delay
+	 * 
+	 * @param delay  The delay in ticks, at least 1
+	 * @param action The action
+	 * @return The timer, use it to cancel the action
+	 */
+	public static Timer schedule(int delay, Runnable action) {
+		return add(new Timer(0, 0, step -> action.run(), null), delay);
+	}
+
+	/**
+	 * Run an action again and again
+	 * 
+	 * @param delay  The delay before the first run in ticks, at least 1
+	 * @param period The ticks between two runs, at least 1
+	 * @param action The action
+	 * @return The timer, use it to stop the action
+	 */
+	public static Timer repeat(int delay, int period, Runnable action) {
+		return add(new Timer(period, -1, step -> action.run(), null), delay);
+	}
+
+	/**
+	 * Start a countdown<br>
+	 * onStep is called with steps, steps - 1, ..., 1 and after the last step
+	 * onFinish is called
+	 * 
+	 * @param steps    The number of steps
+	 * @param period   The ticks between two steps, at least 1
+	 * @param onStep   Called every step with the remaining steps
+	 * @param onFinish Called when the countdown is over, can be null
+	 * @return The timer, use it to stop the countdown
+	 */
+	public static Timer countdown(int steps, int period, IntConsumer onStep, Runnable onFinish) {
+		return add(new Timer(period, steps, onStep, onFinish), 1);
+	}
+
+	/**
+	 * Start a countdown in seconds<br>
+	 * onSecond is called with seconds, seconds - 1, ..., 1 and one second after
+	 * the last call onFinish is called
+	 * 
+	 * @param seconds  The seconds of the countdown
+	 * @param onSecond Called every second with the remaining seconds
+	 * @param onFinish Called when the countdown is over, can be null
+	 * @return The timer, use it to stop the countdown
+	 */
+	public static Timer countdown(int seconds, IntConsumer onSecond, Runnable onFinish) {
+		return countdown(seconds, 20, onSecond, onFinish);
+	}
+
+	/**
+	 * Stop all timers and the task<br>
+	 * Use it in the onDisable() method, it can also be called inside a timer
+	 */
+	public static void cancelAll() {
+		for (int i = 0; i < WHEEL_SIZE; i++) {
+			for (Timer timer = wheel[i]; timer != null; timer = timer.next) {
+				timer.cancelled = true;
+				count--;
+			}
+			wheel[i] = null;
+		}
+		// The timers of the walked slot are counted down when tick() reaches them
+		if (current != null) {
+			current.cancelled = true;
+		}
+		for (Timer timer = running; timer != null; timer = timer.next) {
+			timer.cancelled = true;
+		}
+		if (!ticking) {
+			count = 0;
+			stopTask();
+		}
+	}
+
+	/**
+	 * @return The number of running timers
+	 */
+	public static int getTimerCount() {
+		return count;
+	}
+
+	// ------------
+	// Help methods
+	// ------------
+
+	/**
+	 * Put a timer into the wheel slot of a delay
+	 * 
+	 * @param timer The timer
+	 * @param delay The delay in ticks, at least 1
+	 * @return The timer
+	 */
+	private static Timer add(Timer timer, int delay) {
+		delay = delay < 1 ? 1 : delay;
+		int slot = (int) ((tick + delay) & MASK);
+		timer.rounds = (delay - 1) / WHEEL_SIZE;
+		timer.next = wheel[slot];
+		wheel[slot] = timer;
+		if (!timer.added) {
+			timer.added = true;
+			count++;
+		}
+		if (task == null) {
+			task = Bukkit.getScheduler().runTaskTimer(Main.instance, Timers::tick, 1, 1);
+		}
+		return timer;
+	}
+
+	/**
+	 * Turn the wheel one slot and run all timers of the slot which are due
+	 */
+	private static void tick() {
+		tick++;
+		int slot = (int) (tick & MASK);
+		ticking = true;
+		running = wheel[slot];
+		wheel[slot] = null;
+		while (running != null) {
+			Timer timer = running;
+			running = timer.next;
+			timer.next = null;
+			if (timer.cancelled) {
+				count--;
+			} else if (timer.rounds == 0) {
+				current = timer;
+				run(timer);
+				current = null;
+			} else {
+				timer.rounds--;
+				timer.next = wheel[slot];
+				wheel[slot] = timer;
+			}
+		}
+		ticking = false;
+		if (count <= 0) {
+			count = 0;
+			stopTask();
+		}
+	}
+
+	/**
+	 * Run a due timer and put it back into the wheel if it has steps left
+	 * 
+	 * @param timer The timer
+	 */
+	private static void run(Timer timer) {
+		boolean finished;
+		try {
+			if (timer.steps == 0) {
+				if (timer.onFinish != null) {
+					timer.onFinish.run();
+				} else {
+					timer.onStep.accept(0);
+				}
+			} else {
+				timer.onStep.accept(timer.steps);
+			}
+		} catch (RuntimeException e) {
+			Main.instance.getLogger().log(Level.WARNING, "Timer failed", e);
+		}
+		if (timer.steps == 0) {
+			finished = true;
+		} else {
+			if (timer.steps > 0) {
+				timer.steps--;
+			}
+			finished = timer.steps == 0 && timer.onFinish == null;
+		}
+		if (!timer.cancelled && !finished && timer.period > 0) {
+			add(timer, timer.period);
+		} else {
+			timer.cancelled = true;
+			count--;
+		}
+	}
+
+	private static void stopTask() {
+		if (task != null) {
+			task.cancel();
+			task = null;
+		}
+	}
+
+	/**
+	 * One timer in the wheel
+	 */
+	public static class Timer {
+
+		private final int period;
+		private final IntConsumer onStep;
+		private final Runnable onFinish;
+		private int steps;
+		private long rounds;
+		private boolean cancelled;
+		private boolean added;
+		private Timer next;
+
+		/**
+		 * @param period   The ticks between two runs, 0 for one run
+		 * @param steps    The remaining steps, -1 for no end
+		 * @param onStep   Called every run
+		 * @param onFinish Called after the last step, can be null
+		 */
+		private Timer(int period, int steps, IntConsumer onStep, Runnable onFinish) {
+			this.period = period < 1 && steps != 0 ? 1 : period;
+			this.steps = steps;
+			this.onStep = onStep;
+			this.onFinish = onFinish;
+		}
+
+		/**
+		 * Stop the timer, it is not run again
+		 */
+		public void cancel() {
+			cancelled = true;
+		}
+
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		/**
+		 * @return The remaining steps of a countdown <br>
+		 *         -1, if the timer repeats without end
+		 */
+		public int getSteps() {
+			return steps;
+		}
+
+	}
+
+}
@@ -1,36 +1,82 @@
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
 import net.md_5.bungee.api.ChatMessageType;
-import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.api.chat.BaseComponent;
+
+import main.Main;
 
 public class Title {
 
+	private static boolean queued = false;
+	private static HashMap<Player, QueuedTitle> queue = new HashMap<>();
+	private static BukkitTask flushTask;
+	private static long sentTitles = 0;
+	private static long coalescedTitles = 0;
+
 	public static void sendActionBar(Player player, String text) {
-		player.spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent(text));
+		player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextCache.get(text));
 	}
 
 	public static void sendActionBar(List<Player> players, String text) {
-		for (Player player : players) {
-			sendActionBar(player, text);
-		}
+		broadcastActionBar(players, text);
 	}
 
 	public static void sendActionBar(String text, Player... players) {
 		sendActionBar(Arrays.asList(players), text);
 	}
 
-	@SuppressWarnings("unchecked")
 	public static void sendActionBarAll(String text) {
-		sendActionBar((List<Player>) Bukkit.getOnlinePlayers(), text);
+		broadcastActionBar(Bukkit.getOnlinePlayers(), text);
+	}
+
+	public static void sendActionBar(Audience audience, String text) {
+		BaseComponent[] components = TextCache.get(text);
+		for (int i = 0; i < audience.size(); i++) {
+			audience.get(i).spigot().sendMessage(ChatMessageType.ACTION_BAR, components);
+		}
+	}
+
+	public static void broadcastActionBar(Collection<? extends Player> players, String text) {
+		broadcastActionBar(players, TextCache.get(text));
+	}
+
+	public static void broadcastActionBar(Collection<? extends Player> players, BaseComponent... components) {
+		for (Player player : players) {
+			player.spigot().sendMessage(ChatMessageType.ACTION_BAR, components);
+		}
 	}
 
 	public static void sendTitle(Player player, String title, String subTitle, int fadeInTime, int stayTime,
 			int fadeOutTime) {
-		player.sendTitle(title, subTitle, fadeInTime, stayTime, fadeOutTime);
+		sendTitle(player, title, subTitle, fadeInTime, stayTime, fadeOutTime, 0);
+	}
+
+	public static void sendTitle(Player player, String title, String subTitle, int fadeInTime, int stayTime,
+			int fadeOutTime, int priority) {
+		if (!queued) {
+			player.sendTitle(title, subTitle, fadeInTime, stayTime, fadeOutTime);
+			sentTitles++;
+			return;
+		}
+		QueuedTitle old = queue.get(player);
+		if (old != null) {
+			coalescedTitles++;
+			if (priority < old.priority) {
+				return;
+			}
+		}
+		queue.put(player, new QueuedTitle(title, subTitle, fadeInTime, stayTime, fadeOutTime, priority));
+		if (flushTask == null) {
+			flushTask = Bukkit.getScheduler().runTask(Main.instance, Title::flushTitles);
+		}
 	}
 
 	public static void sendTitle(Player player, String title, int fadeInTime, int stayTime, int fadeOutTime) {
@@ -55,23 +101,102 @@ public class Title {
 
 	public static void sendTitle(List<Player> players, String title, String subTitle, int fadeInTime, int stayTime,
 			int fadeOutTime) {
-		for (Player player : players) {
-			sendTitle(player, title, subTitle, fadeInTime, stayTime, fadeOutTime);
+		broadcastTitle(players, title, subTitle, fadeInTime, stayTime, fadeOutTime);
+	}
+
+	public static void sendTitle(Audience audience, String title, String subTitle, int fadeInTime, int stayTime,
+			int fadeOutTime) {
+		for (int i = 0; i < audience.size(); i++) {
+			sendTitle(audience.get(i), title, subTitle, fadeInTime, stayTime, fadeOutTime);
 		}
 	}
 
-	@SuppressWarnings("unchecked")
+	public static void sendTitle(Audience audience, String title, int fadeInTime, int stayTime, int fadeOutTime) {
+		sendTitle(audience, title, "", fadeInTime, stayTime, fadeOutTime);
+	}
+
 	public static void sendTitleAll(String title, String subTitle, int fadeInTime, int stayTime, int fadeOutTime) {
-		sendTitle((List<Player>) Bukkit.getOnlinePlayers(), title, subTitle, fadeInTime, stayTime, fadeOutTime);
+		broadcastTitle(Bukkit.getOnlinePlayers(), title, subTitle, fadeInTime, stayTime, fadeOutTime);
+	}
+
+	public static void broadcastTitle(Collection<? extends Player> players, String title, String subTitle,
+			int fadeInTime, int stayTime, int fadeOutTime) {
+		for (Player player : players) {
+			sendTitle(player, title, subTitle, fadeInTime, stayTime, fadeOutTime);
+		}
 	}
 
 	public static void sendTitle(List<Player> players, String title, int fadeInTime, int stayTime, int fadeOutTime) {
 		sendTitle(players, title, "", fadeInTime, stayTime, fadeOutTime);
 	}
 
-	@SuppressWarnings("unchecked")
 	public static void sendTitleAll(String title, int fadeInTime, int stayTime, int fadeOutTime) {
-		sendTitle((List<Player>) Bukkit.getOnlinePlayers(), title, fadeInTime, stayTime, fadeOutTime);
+		broadcastTitle(Bukkit.getOnlinePlayers(), title, "", fadeInTime, stayTime, fadeOutTime);
+	}
+
+	// -------------
+	// Queued titles
+	// -------------
+
+	public static void setQueued(boolean queued) {
+		if (!queued) {
+			flushTitles();
+		}
+		Title.queued = queued;
+	}
+
+	public static boolean isQueued() {
+		return queued;
+	}
+
+	public static void flushTitles() {
+		if (flushTask != null) {
+			flushTask.cancel();
+			flushTask = null;
+		}
+		for (Map.Entry<Player, QueuedTitle> entry : queue.entrySet()) {
+			Player player = entry.getKey();
+			QueuedTitle title = entry.getValue();
+			if (player.isOnline()) {
+				player.sendTitle(title.title, title.subTitle, title.fadeInTime, title.stayTime, title.fadeOutTime);
+				sentTitles++;
+			}
+		}
+		queue.clear();
+	}
+
+	public static long getSentTitles() {
+		return sentTitles;
+	}
+
+	public static long getCoalescedTitles() {
+		return coalescedTitles;
+	}
+
+	public static void resetTitleCounters() {
+		sentTitles = 0;
+		coalescedTitles = 0;
+	}
+
+	private static class QueuedTitle {
+
+		private final String title;
+		private final String subTitle;
+		private final int fadeInTime;
+		private final int stayTime;
+		private final int fadeOutTime;
+		private final int priority;
+
+		private QueuedTitle(String title, String subTitle, int fadeInTime, int stayTime, int fadeOutTime,
+				int priority) {
+			this.title = title;
+			this.subTitle = subTitle;
+			this.fadeInTime = fadeInTime;
+			this.stayTime = stayTime;
+			this.fadeOutTime = fadeOutTime;
+			this.priority = priority;
+		}
+
 	}
 
 }
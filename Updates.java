@@ -0,0 +1,229 @@
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.entity.Player;
+
+import main.Main;
+
+/**
+ * An inbox for BossBar and Scoreboard changes from any thread<br>
+ * Worker threads post the new value of a bar or a line, the main thread applies
+ * all posted values once per tick<br>
+ * Only the latest value of each bar property or line is kept, so a value posted
+ * 20 times in one tick is applied once<br>
+ * Posting doesn´t lock, it only puts the value into a ConcurrentHashMap
+ * 
+ * @author CodeSAT
+ * @version 1.02
+ *
+ */
+public class Updates {
+
+	/**
+	 * A ConcurrentHashMap for storing the posted updates, each target and property
+	 * leads to the latest update
+	 */
+	private static ConcurrentHashMap<Key, Runnable> inbox = new ConcurrentHashMap<>();
+
+	private static AtomicBoolean scheduled = new AtomicBoolean(false);
+	private static LongAdder posted = new LongAdder();
+	private static LongAdder replaced = new LongAdder();
+
+	private Updates() {
+
+	}
+
+	// --------
+	// BossBars
+	// --------
+
+	/**
+	 * Post a new progress of a BossBar
+	 * 
+	 * @param id      The id of the BossBar
+	 * @param percent The fill-progress of the BossBar in percent, 0-100 (0 and 100
+	 *                included)
+	 */
+	public static void postProgress(String id, double percent) {
+		post(Bossbar.class, id, "progress", () -> Bossbar.setProgress(id, percent));
+	}
+
+	/**
+	 * Post a new title of a BossBar
+	 * 
+	 * @param id    The id of the BossBar
+	 * @param title The new title
+	 */
+	public static void postTitle(String id, String title) {
+		post(Bossbar.class, id, "title", () -> Bossbar.setTitle(id, title));
+	}
+
+	/**
+	 * Post a new color of a BossBar
+	 * 
+	 * @param id    The id of the BossBar
+	 * @param color The new color
+	 */
+	public static void postColor(String id, BarColor color) {
+		post(Bossbar.class, id, "color", () -> Bossbar.setColor(id, color));
+	}
+
+	/**
+	 * Post a new style of a BossBar
+	 * 
+	 * @param id    The id of the BossBar
+	 * @param style The new style
+	 */
+	public static void postStyle(String id, BarStyle style) {
+		post(Bossbar.class, id, "style", () -> Bossbar.setStyle(id, style));
+	}
+
+	// -----------
+	// Scoreboards
+	// -----------
+
+	/**
+	 * Post a new text of a team line of a board of the Scoreboards
+	 * 
+	 * @param boardName The name of the board
+	 * @param teamName  The name of the team
+	 * @param text      The new text
+	 */
+	public static void postTeam(String boardName, String teamName, String text) {
+		post(Scoreboards.class, boardName, teamName, () -> Scoreboards.updateTeam(boardName, teamName, text));
+	}
+
+	/**
+	 * Post a new text of a line of the Sidebar of a player
+	 * 
+	 * @param player The player
+	 * @param line   The line, 0-14 (0 and 14 included), 0 is the top line
+	 * @param text   The new text, null removes the line
+	 */
+	public static void postSidebarLine(Player player, int line, String text) {
+		UUID uuid = player.getUniqueId();
+		post(Sidebar.class, uuid, "line" + line, () -> {
+			Sidebar sidebar = Sidebar.get(player);
+			if (sidebar != null) {
+				sidebar.setLine(line, text);
+			}
+		});
+	}
+
+	/**
+	 * Post any update, it replaces the last not applied update with the same
+	 * target and property
+	 * 
+	 * @param target   The target, for example a BossBar id
+	 * @param property The changed property of the target
+	 * @param update   The update, it is run on the main thread
+	 */
+	public static void post(Object target, String property, Runnable update) {
+		post(Updates.class, target, property, update);
+	}
+
+	/**
+	 * Post an update of a target of a class, so the same name for a BossBar and a
+	 * board doesn´t mix up their updates
+	 * 
+	 * @param type     The class the target belongs to
+	 * @param target   The target
+	 * @param property The changed property of the target
+	 * @param update   The update
+	 */
+	private static void post(Class<?> type, Object target, String property, Runnable update) {
+		posted.increment();
+		if (inbox.put(new Key(type, target, property), update) != null) {
+			replaced.increment();
+		}
+		if (scheduled.compareAndSet(false, true)) {
+			Bukkit.getScheduler().runTask(Main.instance, Updates::drain);
+		}
+	}
+
+	// --------
+	// Counters
+	// --------
+
+	/**
+	 * @return The number of posted updates
+	 */
+	public static long getPosted() {
+		return posted.sum();
+	}
+
+	/**
+	 * @return The number of posted updates which were replaced by a newer update
+	 *         before they were applied
+	 */
+	public static long getReplaced() {
+		return replaced.sum();
+	}
+
+	/**
+	 * @return The number of updates waiting for the next tick
+	 */
+	public static int getPending() {
+		return inbox.size();
+	}
+
+	/**
+	 * Apply all waiting updates now<br>
+	 * Only call it on the main thread, for example in the onDisable() method
+	 */
+	public static void drain() {
+		scheduled.set(false);
+		for (Key key : inbox.keySet()) {
+			Runnable update = inbox.remove(key);
+			if (update == null) {
+				continue;
+			}
+			try {
+				update.run();
+			} catch (RuntimeException e) {
+				Main.instance.getLogger().log(Level.WARNING, "Update failed", e);
+			}
+		}
+	}
+
+	/**
+	 * One target of a class with one property
+	 */
+	private static final class Key {
+
+		private final Class<?> type;
+		private final Object target;
+		private final String property;
+
+		private Key(Class<?> type, Object target, String property) {
+			this.type = type;
+			this.target = target;
+			this.property = property;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return type == other.type && target.equals(other.target) && property.equals(other.property);
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * type.hashCode() + target.hashCode()) * 31 + property.hashCode();
+		}
+
+	}
+
+}